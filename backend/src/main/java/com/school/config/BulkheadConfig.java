@@ -0,0 +1,30 @@
+package com.school.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Wraps the application DataSource in a BulkheadDataSource when db.bulkhead.enabled is set
+// (it defaults to on together with virtual threads)
+@Configuration
+@ConditionalOnProperty(name = "db.bulkhead.enabled", havingValue = "true")
+public class BulkheadConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceBulkhead(@Value("${db.bulkhead.max-concurrent:3}") int maxConcurrent,
+                                                @Value("${db.bulkhead.max-wait-ms:2000}") long maxWaitMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, maxConcurrent, maxWaitMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.school.config;
+
+import com.school.dto.ApiResponse;
+import jakarta.persistence.PersistenceException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// A full database bulkhead surfaces wrapped in whatever layer asked for the connection
+// (transaction begin, JdbcTemplate, Hibernate). Turn those into a quick 503; anything else
+// is rethrown to the default handling.
+@RestControllerAdvice
+public class BulkheadExceptionHandler {
+
+    @ExceptionHandler({DataAccessException.class, TransactionException.class, PersistenceException.class})
+    public ResponseEntity<ApiResponse> handle(RuntimeException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof BulkheadDataSource.BulkheadFullException) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(new ApiResponse(false, "Server is busy, please try again shortly"));
+            }
+        }
+        throw e;
+    }
+}
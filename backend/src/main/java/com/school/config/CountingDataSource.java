@@ -0,0 +1,98 @@
+package com.school.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Counts statements executed, rows read or written and time spent in the driver for the
+// current SqlMetrics scope. Connections, statements and result sets are thin JDK proxies.
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        return wrapStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    // Keeps the interface the caller asked for (Statement, PreparedStatement or CallableStatement)
+    private static Object wrapStatement(Statement statement, Class<?> type) {
+        return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (!name.startsWith("execute")) {
+                        Object result = invoke(statement, method, args);
+                        return result instanceof ResultSet rs && name.equals("getResultSet") ? wrapResultSet(rs) : result;
+                    }
+                    long start = System.nanoTime();
+                    Object result = invoke(statement, method, args);
+                    long elapsed = System.nanoTime() - start;
+                    SqlMetrics.recordStatement(elapsed, updatedRows(result));
+                    return result instanceof ResultSet rs ? wrapResultSet(rs) : result;
+                });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                        SqlMetrics.recordRow();
+                    }
+                    return result;
+                });
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer count && count > 0) {
+            return count;
+        }
+        if (result instanceof Long count && count > 0) {
+            return count;
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int c : counts) {
+                total += Math.max(c, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long c : counts) {
+                total += Math.max(c, 0);
+            }
+        }
+        return total;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
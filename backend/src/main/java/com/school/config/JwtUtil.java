@@ -2,12 +2,16 @@ package com.school.config;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtUtil {
@@ -18,8 +22,27 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.cache-size:1024}")
+    private int cacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Already-verified tokens -> claims, so repeat requests skip signature and JSON work
+    private Map<String, Claims> verified;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > cacheSize;
+            }
+        };
     }
 
     public String generateToken(String username, String role) {
@@ -28,31 +51,70 @@ public class JwtUtil {
                 .claim("role", role)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    // Verifies the token once and returns its claims, or null if it is invalid or expired
+    public Claims parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        Claims claims;
+        synchronized (verified) {
+            claims = verified.get(token);
+            if (claims != null && isExpired(claims)) {
+                verified.remove(token);
+                claims = null;
+            }
+        }
+        if (claims != null) {
+            cacheHits.increment();
+            return claims;
+        }
+
+        cacheMisses.increment();
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.getExpiration() != null) {
+            synchronized (verified) {
+                verified.put(token, claims);
+            }
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        return getClaims(token).getPayload().getSubject();
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public String extractRole(String token) {
-        return getClaims(token).getPayload().get("role", String.class);
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.get("role", String.class) : null;
     }
 
     public boolean validateToken(String token) {
-        try {
-            getClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+        return parseClaims(token) != null;
+    }
+
+    public Map<String, Object> cacheStats() {
+        int size;
+        synchronized (verified) {
+            size = verified.size();
         }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", cacheSize);
+        stats.put("hits", cacheHits.sum());
+        stats.put("misses", cacheMisses.sum());
+        return stats;
     }
 
-    private Jws<Claims> getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration().getTime() <= System.currentTimeMillis();
     }
 }
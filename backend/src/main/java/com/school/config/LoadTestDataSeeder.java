@@ -0,0 +1,118 @@
+package com.school.config;
+
+import com.school.service.Grades;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Synthetic school for the load-test harness (loadtest/). The roll number / date of birth pattern
+// is mirrored by the harness so it can send valid lookups without reading the database:
+// student i (0-based) has roll "LT" + 6-digit (i + 1) and was born 2008-01-01 plus (i % 3650) days.
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestDataSeeder implements CommandLineRunner {
+
+    static final String[] SUBJECTS = {"English", "Hindi", "Mathematics", "Science", "Social Science", "Computer"};
+    static final String[] SECTIONS = {"A", "B", "C"};
+    static final String EXAM_TYPE = "final";
+    static final String ACADEMIC_YEAR = "2025-26";
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Ananya", "Diya", "Ishaan",
+            "Kavya", "Rahul", "Priya", "Rohan", "Saanvi", "Arjun", "Meera", "Kabir", "Nisha", "Dev"};
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Gupta", "Singh", "Kumar", "Patel",
+            "Yadav", "Mishra", "Joshi", "Reddy", "Nair", "Das"};
+    private static final String[] CATEGORIES = {"general", "exam", "event", "holiday"};
+    private static final String[] TEACHER_SECTIONS = {"pre-primary", "primary", "upper-primary"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${loadtest.students:2000}")
+    private int studentCount;
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM students WHERE roll_number LIKE 'LT%'", Integer.class);
+        if (existing != null && existing > 0) {
+            System.out.println(">>> Load-test data already present (" + existing + " students)");
+            return;
+        }
+        Random random = new Random(42);
+        seedStudents(random);
+        seedResults(random);
+        seedAnnouncements();
+        seedTeachers(random);
+        System.out.println(">>> Load-test data seeded: " + studentCount + " students");
+    }
+
+    private void seedStudents(Random random) {
+        List<Object[]> rows = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            rows.add(new Object[]{
+                    String.format("LT%06d", i + 1),
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    lastName,
+                    Date.valueOf(LocalDate.of(2008, 1, 1).plusDays(i % 3650)),
+                    String.valueOf(1 + i % 12),
+                    SECTIONS[(i / 12) % SECTIONS.length],
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + lastName,
+                    2015 + random.nextInt(10)
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO students (roll_number, first_name, last_name, date_of_birth, "
+                + "class_name, section, guardian_name, admission_year) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void seedResults(Random random) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM students WHERE roll_number LIKE 'LT%' ORDER BY id", Long.class);
+        List<Object[]> rows = new ArrayList<>(ids.size() * SUBJECTS.length);
+        for (Long id : ids) {
+            for (String subject : SUBJECTS) {
+                double obtained = 25 + random.nextInt(76);
+                rows.add(new Object[]{id, subject, EXAM_TYPE, obtained, 100.0,
+                        Grades.calculateGrade(obtained, 100.0), ACADEMIC_YEAR});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO results (student_id, subject, exam_type, marks_obtained, "
+                + "total_marks, grade, academic_year) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void seedAnnouncements() {
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 40; i++) {
+            Timestamp at = Timestamp.valueOf(now.minusDays(i));
+            rows.add(new Object[]{"Notice " + (i + 1),
+                    "Parents are informed about school activity number " + (i + 1) + " scheduled this term.",
+                    CATEGORIES[i % CATEGORIES.length], at, at});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO announcements (title, content, category, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private void seedTeachers(Random random) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            rows.add(new Object[]{FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    "Teacher", SUBJECTS[i % SUBJECTS.length], TEACHER_SECTIONS[i % TEACHER_SECTIONS.length],
+                    2005 + random.nextInt(20)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO teachers (name, designation, subject, section, joining_year) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,158 @@
+package com.school.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-client token buckets for the expensive public endpoints (login: BCrypt, lookup: two queries),
+// plus a global cap on how many of those requests run at once. Rejections happen before any
+// database or BCrypt work, with 429 and Retry-After.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Fixed-size, lock-free bucket table. Clients hash into slots, so memory stays constant no matter
+    // how many distinct clients show up; colliding clients share a bucket, which only errs on the strict side.
+    static final class BucketTable {
+
+        private static final int TOKEN_BITS = 24;
+        private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+        private static final long MILLI = 1000;
+
+        private final AtomicLongArray slots;
+        private final int mask;
+        private final long capacityMilli;
+        private final double refillMilliPerMs;
+        private final long startMs = System.currentTimeMillis();
+
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        BucketTable(int slotCount, int capacity, int perMinute) {
+            int size = Integer.highestOneBit(Math.max(slotCount, 2) - 1) << 1;
+            this.slots = new AtomicLongArray(size);
+            this.mask = size - 1;
+            this.capacityMilli = Math.min(capacity * MILLI, TOKEN_MASK);
+            this.refillMilliPerMs = perMinute * MILLI / 60_000.0;
+        }
+
+        // Returns 0 if a token was taken, otherwise the milliseconds until one is available
+        long tryAcquire(String key) {
+            int index = spread(key.hashCode()) & mask;
+            long now = System.currentTimeMillis() - startMs + 1;
+            while (true) {
+                long state = slots.get(index);
+                long tokens;
+                if (state == 0) {
+                    tokens = capacityMilli;
+                } else {
+                    long last = state >>> TOKEN_BITS;
+                    long refill = (long) ((now - last) * refillMilliPerMs);
+                    tokens = Math.min(capacityMilli, (state & TOKEN_MASK) + Math.max(0, refill));
+                }
+                if (tokens < MILLI) {
+                    rejected.increment();
+                    return (long) Math.ceil((MILLI - tokens) / refillMilliPerMs);
+                }
+                long next = (now << TOKEN_BITS) | (tokens - MILLI);
+                if (slots.compareAndSet(index, state, next)) {
+                    allowed.increment();
+                    return 0;
+                }
+            }
+        }
+
+        private static int spread(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            return h;
+        }
+    }
+
+    private final BucketTable login;
+    private final BucketTable lookup;
+    private final Semaphore concurrency;
+    private final int maxConcurrent;
+    private final LongAdder rejectedConcurrency = new LongAdder();
+
+    public RateLimitFilter(@Value("${rate-limit.slots:65536}") int slots,
+                           @Value("${rate-limit.login.capacity:10}") int loginCapacity,
+                           @Value("${rate-limit.login.per-minute:10}") int loginPerMinute,
+                           @Value("${rate-limit.lookup.capacity:30}") int lookupCapacity,
+                           @Value("${rate-limit.lookup.per-minute:60}") int lookupPerMinute,
+                           @Value("${rate-limit.max-concurrent:32}") int maxConcurrent) {
+        this.login = new BucketTable(slots, loginCapacity, loginPerMinute);
+        this.lookup = new BucketTable(slots, lookupCapacity, lookupPerMinute);
+        this.maxConcurrent = maxConcurrent;
+        this.concurrency = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return bucketFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        BucketTable bucket = bucketFor(request);
+        long waitMs = bucket.tryAcquire(request.getRemoteAddr());
+        if (waitMs > 0) {
+            reject(response, waitMs);
+            return;
+        }
+        if (!concurrency.tryAcquire()) {
+            rejectedConcurrency.increment();
+            reject(response, 1000);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrency.release();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loginAllowed", login.allowed.sum());
+        stats.put("loginRejected", login.rejected.sum());
+        stats.put("lookupAllowed", lookup.allowed.sum());
+        stats.put("lookupRejected", lookup.rejected.sum());
+        stats.put("inFlight", maxConcurrent - concurrency.availablePermits());
+        stats.put("rejectedConcurrency", rejectedConcurrency.sum());
+        return stats;
+    }
+
+    private BucketTable bucketFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("POST".equals(request.getMethod()) && path.equals("/api/auth/login")) {
+            return login;
+        }
+        if ("GET".equals(request.getMethod()) && path.startsWith("/api/results/lookup")) {
+            return lookup;
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response, long waitMs) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitMs + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"Too many requests, please try again shortly\"}");
+    }
+}
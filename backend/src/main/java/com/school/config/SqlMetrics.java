@@ -0,0 +1,116 @@
+package com.school.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-request SQL statement, row and time counts (filled in by CountingDataSource on the
+// request thread) plus per-endpoint totals for /api/admin/stats
+@Component
+public class SqlMetrics {
+
+    public static final class Counts {
+        int statements;
+        long rows;
+        long nanos;
+
+        public int statements() {
+            return statements;
+        }
+
+        public long rows() {
+            return rows;
+        }
+
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return statements + " statements, " + rows + " rows, " + String.format("%.1f", millis()) + " ms";
+        }
+    }
+
+    private static final class Endpoint {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        final LongAdder rows = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    // Starts counting on this thread; returns the enclosing scope, which end() restores
+    public static Counts begin() {
+        Counts previous = CURRENT.get();
+        CURRENT.set(new Counts());
+        return previous;
+    }
+
+    public static Counts end(Counts previous) {
+        Counts counts = CURRENT.get();
+        if (previous != null) {
+            // The enclosing scope also pays for what ran inside the nested one
+            previous.statements += counts.statements;
+            previous.rows += counts.rows;
+            previous.nanos += counts.nanos;
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+        return counts;
+    }
+
+    public static Counts current() {
+        return CURRENT.get();
+    }
+
+    static void recordStatement(long nanos, long rows) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+            counts.nanos += nanos;
+            counts.rows += rows;
+        }
+    }
+
+    static void recordRow() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.rows++;
+        }
+    }
+
+    void record(String endpoint, Counts counts) {
+        Endpoint e = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        e.requests.increment();
+        e.statements.add(counts.statements);
+        e.maxStatements.accumulate(counts.statements);
+        e.rows.add(counts.rows);
+        e.nanos.add(counts.nanos);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new TreeMap<>();
+        endpoints.forEach((name, e) -> {
+            long requests = e.requests.sum();
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("requests", requests);
+            s.put("avgStatements", requests > 0 ? (double) e.statements.sum() / requests : 0);
+            s.put("maxStatements", e.maxStatements.get());
+            s.put("avgRows", requests > 0 ? (double) e.rows.sum() / requests : 0);
+            s.put("avgDbMs", requests > 0 ? e.nanos.sum() / requests / 1_000_000.0 : 0);
+            stats.put(name, s);
+        });
+        return stats;
+    }
+}
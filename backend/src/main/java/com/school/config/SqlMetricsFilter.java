@@ -0,0 +1,47 @@
+package com.school.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Opens a SqlMetrics scope around each request, records the totals per endpoint pattern and
+// logs requests whose statement count reaches sql.metrics.log-threshold (a likely N+1)
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private final SqlMetrics sqlMetrics;
+
+    @Value("${sql.metrics.log-threshold:20}")
+    private int logThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlMetrics.Counts previous = SqlMetrics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlMetrics.Counts counts = SqlMetrics.end(previous);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+            sqlMetrics.record(endpoint, counts);
+            if (counts.statements() >= logThreshold) {
+                log.warn("{} {} ran {}", request.getMethod(), request.getRequestURI(), counts);
+            }
+        }
+    }
+}
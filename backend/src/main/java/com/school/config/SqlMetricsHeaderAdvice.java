@@ -0,0 +1,37 @@
+package com.school.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Adds the request's SQL counts as X-Sql-* headers when sql.metrics.debug-header is on.
+// Runs just before the body is written, so lazy loads during serialization are not included.
+@ControllerAdvice
+public class SqlMetricsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Value("${sql.metrics.debug-header:false}")
+    private boolean enabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlMetrics.Counts counts = SqlMetrics.current();
+        if (counts != null) {
+            response.getHeaders().set("X-Sql-Statements", String.valueOf(counts.statements()));
+            response.getHeaders().set("X-Sql-Rows", String.valueOf(counts.rows()));
+            response.getHeaders().set("X-Sql-Time-Ms", String.format("%.2f", counts.millis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,33 @@
+package com.school.controller;
+
+import com.school.service.ClassAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final ClassAnalyticsService analyticsService;
+
+    // Subject averages, toppers, rank list and grade histograms for one class/exam
+    @GetMapping("/class")
+    public ResponseEntity<Map<String, Object>> getClassAnalytics(
+            @RequestParam String className,
+            @RequestParam(required = false) String section,
+            @RequestParam String examType,
+            @RequestParam String academicYear) {
+        return ResponseEntity.ok(analyticsService.getAnalytics(
+                new ClassAnalyticsService.Key(className, section, examType, academicYear)));
+    }
+
+    // Recompute every loaded aggregate from the database and report drift from the incremental state
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        return ResponseEntity.ok(analyticsService.rebuild());
+    }
+}
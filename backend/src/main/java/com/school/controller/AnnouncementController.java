@@ -1,12 +1,23 @@
 package com.school.controller;
 
+import com.school.dto.AnnouncementSearchHit;
 import com.school.dto.ApiResponse;
 import com.school.model.Announcement;
 import com.school.repository.AnnouncementRepository;
+import com.school.service.AnnouncementBroadcaster;
+import com.school.service.AnnouncementSearchIndex;
+import com.school.service.PublicSnapshotService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -15,10 +26,42 @@ import java.util.List;
 public class AnnouncementController {
 
     private final AnnouncementRepository announcementRepository;
+    private final PublicSnapshotService snapshotService;
+    private final AnnouncementSearchIndex searchIndex;
+    private final AnnouncementBroadcaster broadcaster;
 
+    // Served from the pre-encoded snapshot; no database access
     @GetMapping
-    public ResponseEntity<List<Announcement>> getAll() {
-        return ResponseEntity.ok(announcementRepository.findAllByOrderByCreatedAtDesc());
+    public ResponseEntity<byte[]> getAll(WebRequest request) {
+        return snapshotService.announcements(null, request);
+    }
+
+    @GetMapping("/category/{category}")
+    public ResponseEntity<byte[]> getByCategory(@PathVariable String category, WebRequest request) {
+        return snapshotService.announcements(category, request);
+    }
+
+    // Live created/updated/deleted events; EventSource resumes with Last-Event-ID after a reconnect
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = broadcaster.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        // Stop nginx-style proxies from buffering the stream
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+
+    // Full-text search over title and content, served from the in-memory index
+    @GetMapping("/search")
+    public ResponseEntity<List<AnnouncementSearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchIndex.search(q, category, from, to, limit));
     }
 
     @GetMapping("/{id}")
@@ -30,7 +73,11 @@ public class AnnouncementController {
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody Announcement announcement) {
-        return ResponseEntity.ok(announcementRepository.save(announcement));
+        Announcement saved = announcementRepository.save(announcement);
+        snapshotService.announcementsChanged();
+        searchIndex.upsert(saved);
+        broadcaster.created(saved);
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
@@ -39,7 +86,11 @@ public class AnnouncementController {
             a.setTitle(updated.getTitle());
             a.setContent(updated.getContent());
             a.setCategory(updated.getCategory());
-            return ResponseEntity.ok(announcementRepository.save(a));
+            Announcement saved = announcementRepository.save(a);
+            snapshotService.announcementsChanged();
+            searchIndex.upsert(saved);
+            broadcaster.updated(saved);
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -49,6 +100,9 @@ public class AnnouncementController {
             return ResponseEntity.notFound().build();
         }
         announcementRepository.deleteById(id);
+        snapshotService.announcementsChanged();
+        searchIndex.remove(id);
+        broadcaster.deleted(id);
         return ResponseEntity.ok(new ApiResponse(true, "Announcement deleted"));
     }
 }
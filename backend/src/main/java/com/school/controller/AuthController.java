@@ -4,9 +4,11 @@ import com.school.config.JwtUtil;
 import com.school.dto.*;
 import com.school.model.User;
 import com.school.repository.UserRepository;
+import com.school.service.LoginService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.*;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -14,22 +16,24 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final AuthenticationManager authManager;
+    private final LoginService loginService;
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+        User user;
         try {
-            authManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
+            user = loginService.authenticate(request.getUsername(), request.getPassword());
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(401)
                     .body(new ApiResponse(false, "Invalid username or password"));
+        } catch (LoginService.LoginBusyException e) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .body(new ApiResponse(false, e.getMessage()));
         }
 
-        User user = userRepository.findByUsername(request.getUsername()).orElseThrow();
         String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
 
         return ResponseEntity.ok(new LoginResponse(token, user.getUsername(),
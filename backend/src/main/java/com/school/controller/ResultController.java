@@ -1,20 +1,36 @@
 package com.school.controller;
 
 import com.school.dto.ApiResponse;
+import com.school.dto.ClassResultsRequest;
+import com.school.dto.CursorPage;
+import com.school.dto.ResultCard;
 import com.school.model.Result;
 import com.school.model.Student;
 import com.school.repository.ResultRepository;
 import com.school.repository.StudentRepository;
+import com.school.service.ClassAnalyticsService;
+import com.school.service.ExportService;
+import com.school.service.Grades;
+import com.school.service.ListingService;
+import com.school.service.PublishedResultsStore;
+import com.school.service.ReportCardService;
+import com.school.service.ResultBatchService;
+import com.school.service.ResultLookupCache;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/results")
@@ -23,6 +39,13 @@ public class ResultController {
 
     private final ResultRepository resultRepository;
     private final StudentRepository studentRepository;
+    private final ResultLookupCache lookupCache;
+    private final ResultBatchService resultBatchService;
+    private final ListingService listingService;
+    private final ExportService exportService;
+    private final ClassAnalyticsService analyticsService;
+    private final ReportCardService reportCardService;
+    private final PublishedResultsStore publishedResults;
 
     // Public: lookup results by roll number + date of birth
     @GetMapping("/lookup")
@@ -30,25 +53,114 @@ public class ResultController {
             @RequestParam String rollNumber,
             @RequestParam String dob) {
         LocalDate dateOfBirth = LocalDate.parse(dob);
-        return studentRepository.findByRollNumberAndDateOfBirth(rollNumber, dateOfBirth)
-                .map(student -> {
-                    List<Result> results = resultRepository.findByStudentId(student.getId());
-                    Map<String, Object> response = new HashMap<>();
-                    response.put("student", student);
-                    response.put("results", results);
-                    return ResponseEntity.ok(response);
-                })
-                .orElse(ResponseEntity.notFound().build());
+        // Published cards are served as pre-encoded JSON with no database; students added or changed
+        // since publishing fall through to the cached database path
+        PublishedResultsStore.Snapshot snapshot = publishedResults.active();
+        if (snapshot != null) {
+            byte[] json = publishedResults.find(snapshot, rollNumber, dateOfBirth);
+            if (json != null) {
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+            }
+        }
+        ResultLookupCache.Entry cached = lookupCache.get(rollNumber, dateOfBirth);
+        if (cached != null) {
+            return cached.isFound() ? ResponseEntity.ok(cached.card()) : ResponseEntity.notFound().build();
+        }
+
+        long stamp = lookupCache.stamp();
+        ResultCard card = ResultCard.of(resultRepository.findCardRows(rollNumber, dateOfBirth));
+        lookupCache.put(rollNumber, dateOfBirth, card, stamp);
+        return card != null ? ResponseEntity.ok(card) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<Result>> getResultsByStudent(@PathVariable Long studentId) {
-        return ResponseEntity.ok(resultRepository.findByStudentId(studentId));
+    public ResponseEntity<ResultCard> getResultsByStudent(@PathVariable Long studentId) {
+        ResultCard card = ResultCard.of(resultRepository.findCardRowsByStudentId(studentId));
+        return card != null ? ResponseEntity.ok(card) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/admin/all")
     public ResponseEntity<List<Result>> getAllResults() {
-        return ResponseEntity.ok(resultRepository.findAll());
+        return ResponseEntity.ok(resultRepository.findAllWithStudent());
+    }
+
+    // Keyset-paginated listing with optional filters, ordered by id
+    @GetMapping("/admin/page")
+    public ResponseEntity<CursorPage<Result>> getResultPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String examType,
+            @RequestParam(required = false) String subject) {
+        return ResponseEntity.ok(listingService.results(after, size, className, section,
+                academicYear, examType, subject));
+    }
+
+    // Streams every row as NDJSON (default) or CSV, optionally gzipped
+    @GetMapping("/admin/export")
+    public void exportResults(@RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        response.setContentType(gzip ? "application/gzip" : exportFormat.contentType + ";charset=UTF-8");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"results." + exportFormat.extension + (gzip ? ".gz" : "") + "\"");
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream gz = new GZIPOutputStream(out, 64 * 1024)) {
+                exportService.exportResults(exportFormat, gz);
+            }
+        } else {
+            exportService.exportResults(exportFormat, out);
+            out.flush();
+        }
+    }
+
+    // Printable HTML report cards for one exam of a class (or class section), as a ZIP
+    @GetMapping("/admin/report-cards")
+    public ResponseEntity<?> downloadReportCards(@RequestParam String className,
+                                                 @RequestParam(required = false) String section,
+                                                 @RequestParam String examType,
+                                                 @RequestParam String academicYear,
+                                                 HttpServletResponse response) throws IOException {
+        if (className.isBlank() || examType.isBlank() || academicYear.isBlank()) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "className, examType and academicYear are required"));
+        }
+        String name = "report-cards-" + className + (section != null && !section.isBlank() ? "-" + section : "")
+                + "-" + examType + "-" + academicYear;
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"" + name.replaceAll("[^A-Za-z0-9._-]+", "_") + ".zip\"");
+        BufferedOutputStream out = new BufferedOutputStream(response.getOutputStream(), 64 * 1024);
+        reportCardService.writeZip(className, section, examType, academicYear, out);
+        out.flush();
+        return null;
+    }
+
+    // Publishes an exam: lookups are then served from a read-only snapshot of every student's card
+    @PostMapping("/admin/publish")
+    public ResponseEntity<?> publish(@RequestParam String examType, @RequestParam String academicYear)
+            throws IOException {
+        try {
+            return ResponseEntity.ok(publishedResults.publish(examType, academicYear));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/admin/publish")
+    public ResponseEntity<Map<String, Object>> publishStatus() {
+        return ResponseEntity.ok(publishedResults.status());
+    }
+
+    // Withdraws all published exams; lookups go back to live data
+    @DeleteMapping("/admin/publish")
+    public ResponseEntity<?> unpublish() throws IOException {
+        publishedResults.unpublish();
+        return ResponseEntity.ok(new ApiResponse(true, "Published results withdrawn"));
     }
 
     // Save all subject results for a student's exam (upsert: deletes old, creates new)
@@ -70,6 +182,7 @@ public class ResultController {
             List<Result> existing = resultRepository.findByStudentIdAndExamTypeAndAcademicYear(
                     studentId, examType, academicYear);
             if (!existing.isEmpty()) {
+                existing.forEach(e -> analyticsService.resultRemoved(ClassAnalyticsService.Entry.of(e)));
                 resultRepository.deleteAll(existing);
                 resultRepository.flush();
             }
@@ -88,9 +201,12 @@ public class ResultController {
                 newResult.setAcademicYear(academicYear);
                 newResult.setRemarks(r.get("remarks") != null ? r.get("remarks").toString() : null);
                 double percentage = (newResult.getMarksObtained() / newResult.getTotalMarks()) * 100;
-                newResult.setGrade(calculateGrade(percentage));
-                savedResults.add(resultRepository.save(newResult));
+                newResult.setGrade(Grades.calculateGrade(percentage));
+                Result saved = resultRepository.save(newResult);
+                analyticsService.resultAdded(saved);
+                savedResults.add(saved);
             }
+            lookupCache.evict(student);
             return ResponseEntity.ok(savedResults);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -98,6 +214,16 @@ public class ResultController {
         }
     }
 
+    // Save one exam's results for a whole class/section in a single transaction
+    @PostMapping("/admin/save-class")
+    public ResponseEntity<?> saveClassResults(@RequestBody ClassResultsRequest request) {
+        try {
+            return ResponseEntity.ok(resultBatchService.saveClassResults(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<?> addResult(@RequestBody Result result) {
         if (result.getStudent() == null || result.getStudent().getId() == null) {
@@ -114,14 +240,20 @@ public class ResultController {
 
         // Auto-calculate grade
         double percentage = (result.getMarksObtained() / result.getTotalMarks()) * 100;
-        result.setGrade(calculateGrade(percentage));
+        result.setGrade(Grades.calculateGrade(percentage));
 
-        return ResponseEntity.ok(resultRepository.save(result));
+        Result saved = resultRepository.save(result);
+        lookupCache.evict(student);
+        analyticsService.resultAdded(saved);
+        return ResponseEntity.ok(saved);
     }
 
+    // One transaction so the save updates the loaded (student-initialized) entity in place
+    @Transactional
     @PutMapping("/{id}")
     public ResponseEntity<?> updateResult(@PathVariable Long id, @RequestBody Result updated) {
-        return resultRepository.findById(id).map(result -> {
+        return resultRepository.findWithStudentById(id).map(result -> {
+            ClassAnalyticsService.Entry before = ClassAnalyticsService.Entry.of(result);
             result.setSubject(updated.getSubject());
             result.setExamType(updated.getExamType());
             result.setMarksObtained(updated.getMarksObtained());
@@ -131,28 +263,26 @@ public class ResultController {
             result.setRemarks(updated.getRemarks());
 
             double percentage = (updated.getMarksObtained() / updated.getTotalMarks()) * 100;
-            result.setGrade(calculateGrade(percentage));
+            result.setGrade(Grades.calculateGrade(percentage));
 
-            return ResponseEntity.ok(resultRepository.save(result));
+            Result saved = resultRepository.save(result);
+            lookupCache.evict(saved.getStudent());
+            analyticsService.resultUpdated(before, saved);
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
+    // One transaction so the delete removes the loaded entity instead of re-reading a detached copy
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteResult(@PathVariable Long id) {
-        if (!resultRepository.existsById(id)) {
+        Result result = resultRepository.findWithStudentById(id).orElse(null);
+        if (result == null) {
             return ResponseEntity.notFound().build();
         }
-        resultRepository.deleteById(id);
+        resultRepository.delete(result);
+        lookupCache.evict(result.getStudent());
+        analyticsService.resultRemoved(ClassAnalyticsService.Entry.of(result));
         return ResponseEntity.ok(new ApiResponse(true, "Result deleted successfully"));
     }
-
-    private String calculateGrade(double percentage) {
-        if (percentage >= 90) return "A+";
-        if (percentage >= 80) return "A";
-        if (percentage >= 70) return "B+";
-        if (percentage >= 60) return "B";
-        if (percentage >= 50) return "C";
-        if (percentage >= 40) return "D";
-        return "F";
-    }
 }
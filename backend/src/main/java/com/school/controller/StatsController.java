@@ -0,0 +1,68 @@
+package com.school.controller;
+
+import com.school.config.BulkheadDataSource;
+import com.school.config.HikariWaitTracker;
+import com.school.config.JwtUtil;
+import com.school.config.RateLimitFilter;
+import com.school.config.SqlMetrics;
+import com.school.service.AnnouncementBroadcaster;
+import com.school.service.LoginService;
+import com.school.service.PublishedResultsStore;
+import com.school.service.ResultLookupCache;
+import com.school.service.StudentSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Admin-only runtime counters (caches, limiters, pools)
+@RestController
+@RequestMapping("/api/admin/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final ResultLookupCache lookupCache;
+    private final JwtUtil jwtUtil;
+    private final StudentSearchIndex studentSearchIndex;
+    private final RateLimitFilter rateLimitFilter;
+    private final LoginService loginService;
+    private final DataSource dataSource;
+    private final HikariWaitTracker hikariWaitTracker;
+    private final SqlMetrics sqlMetrics;
+    private final PublishedResultsStore publishedResults;
+    private final AnnouncementBroadcaster announcementBroadcaster;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("resultLookupCache", lookupCache.stats());
+        stats.put("jwtCache", jwtUtil.cacheStats());
+        stats.put("studentSearchIndex", studentSearchIndex.stats());
+        stats.put("rateLimit", rateLimitFilter.stats());
+        stats.put("login", loginService.stats());
+        stats.put("hikari", hikariWaitTracker.stats());
+        stats.put("sqlByEndpoint", sqlMetrics.stats());
+        stats.put("publishedResults", publishedResults.stats());
+        stats.put("announcementStream", announcementBroadcaster.stats());
+        BulkheadDataSource bulkhead = unwrap(dataSource, BulkheadDataSource.class);
+        if (bulkhead != null) {
+            stats.put("dbBulkhead", bulkhead.stats());
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    // The DataSource bean may be wrapped more than once (SQL counting, bulkhead)
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -1,13 +1,29 @@
 package com.school.controller;
 
 import com.school.dto.ApiResponse;
+import com.school.dto.CursorPage;
+import com.school.dto.PromotionRequest;
+import com.school.dto.StudentSuggestion;
 import com.school.model.Student;
 import com.school.repository.StudentRepository;
+import com.school.service.ClassAnalyticsService;
+import com.school.service.ExportService;
+import com.school.service.ListingService;
+import com.school.service.PromotionService;
+import com.school.service.ResultLookupCache;
+import com.school.service.StudentImportService;
+import com.school.service.StudentSearchIndex;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/students")
@@ -15,12 +31,83 @@ import java.util.List;
 public class StudentController {
 
     private final StudentRepository studentRepository;
+    private final ResultLookupCache lookupCache;
+    private final ListingService listingService;
+    private final ExportService exportService;
+    private final ClassAnalyticsService analyticsService;
+    private final StudentSearchIndex searchIndex;
+    private final StudentImportService importService;
+    private final PromotionService promotionService;
 
     @GetMapping
     public ResponseEntity<List<Student>> getAllStudents() {
         return ResponseEntity.ok(studentRepository.findAll());
     }
 
+    // Keyset-paginated listing, ordered by id
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Student>> getStudentPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) String section) {
+        return ResponseEntity.ok(listingService.students(after, size, className, section));
+    }
+
+    // Streams every row as NDJSON (default) or CSV, optionally gzipped
+    @GetMapping("/export")
+    public void exportStudents(@RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        response.setContentType(gzip ? "application/gzip" : exportFormat.contentType + ";charset=UTF-8");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"students." + exportFormat.extension + (gzip ? ".gz" : "") + "\"");
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream gz = new GZIPOutputStream(out, 64 * 1024)) {
+                exportService.exportStudents(exportFormat, gz);
+            }
+        } else {
+            exportService.exportStudents(exportFormat, out);
+            out.flush();
+        }
+    }
+
+    // Bulk admission: CSV with a header row (the export's columns) or NDJSON, one student per row.
+    // Format comes from the parameter or the file extension; errors are reported by line number.
+    @PostMapping("/import")
+    public ResponseEntity<?> importStudents(@RequestParam("file") MultipartFile file,
+                                            @RequestParam(required = false) String format) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "File is empty"));
+        }
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+        ExportService.Format importFormat = format != null ? ExportService.Format.from(format)
+                : name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")
+                        ? ExportService.Format.NDJSON : ExportService.Format.CSV;
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importStudents(importFormat, in));
+        }
+    }
+
+    // Year-end rollover: moves every student of each mapped class in one transaction; dryRun only counts
+    @PostMapping("/promote")
+    public ResponseEntity<?> promoteStudents(@RequestBody PromotionRequest request) {
+        try {
+            return ResponseEntity.ok(promotionService.promote(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Typeahead over name, roll number and guardian name, with small-typo tolerance
+    @GetMapping("/search")
+    public ResponseEntity<List<StudentSuggestion>> search(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchIndex.search(q, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getStudent(@PathVariable Long id) {
         return studentRepository.findById(id)
@@ -46,12 +133,18 @@ public class StudentController {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Roll number already exists"));
         }
-        return ResponseEntity.ok(studentRepository.save(student));
+        Student saved = studentRepository.save(student);
+        // Drop any cached "not found" for the new roll number + dob
+        lookupCache.evict(saved);
+        searchIndex.upsert(saved);
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateStudent(@PathVariable Long id, @RequestBody Student updated) {
         return studentRepository.findById(id).map(student -> {
+            lookupCache.evict(student);
+            analyticsService.invalidateClass(student.getClassName());
             student.setFirstName(updated.getFirstName());
             student.setLastName(updated.getLastName());
             student.setDateOfBirth(updated.getDateOfBirth());
@@ -64,16 +157,24 @@ public class StudentController {
             student.setGuardianName(updated.getGuardianName());
             student.setGuardianPhone(updated.getGuardianPhone());
             student.setAdmissionYear(updated.getAdmissionYear());
-            return ResponseEntity.ok(studentRepository.save(student));
+            Student saved = studentRepository.save(student);
+            lookupCache.evict(saved);
+            analyticsService.invalidateClass(saved.getClassName());
+            searchIndex.upsert(saved);
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteStudent(@PathVariable Long id) {
-        if (!studentRepository.existsById(id)) {
+        Student student = studentRepository.findById(id).orElse(null);
+        if (student == null) {
             return ResponseEntity.notFound().build();
         }
-        studentRepository.deleteById(id);
+        studentRepository.delete(student);
+        lookupCache.evict(student);
+        analyticsService.invalidateClass(student.getClassName());
+        searchIndex.remove(id);
         return ResponseEntity.ok(new ApiResponse(true, "Student deleted successfully"));
     }
 }
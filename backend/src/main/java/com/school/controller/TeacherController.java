@@ -3,11 +3,19 @@ package com.school.controller;
 import com.school.dto.ApiResponse;
 import com.school.model.Teacher;
 import com.school.repository.TeacherRepository;
+import com.school.service.PhotoStore;
+import com.school.service.PublicSnapshotService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/teachers")
@@ -15,17 +23,65 @@ import java.util.List;
 public class TeacherController {
 
     private final TeacherRepository teacherRepository;
+    private final PublicSnapshotService snapshotService;
+    private final PhotoStore photoStore;
 
-    // Public - anyone can view teachers
+    // Public - anyone can view teachers (served from the pre-encoded snapshot)
     @GetMapping
-    public ResponseEntity<List<Teacher>> getAllTeachers() {
-        return ResponseEntity.ok(teacherRepository.findAllByOrderByNameAsc());
+    public ResponseEntity<byte[]> getAllTeachers(WebRequest request) {
+        return snapshotService.teachers(null, request);
+    }
+
+    @GetMapping("/section/{section}")
+    public ResponseEntity<byte[]> getBySection(@PathVariable String section, WebRequest request) {
+        return snapshotService.teachers(section, request);
+    }
+
+    // Public - stored photos and thumbnails (immutable, content-addressed)
+    @GetMapping("/photos/{hash}")
+    public void getPhoto(@PathVariable String hash, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        photoStore.serve(hash, false, request, response);
+    }
+
+    @GetMapping("/photos/{hash}/thumb")
+    public void getThumbnail(@PathVariable String hash, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        photoStore.serve(hash, true, request, response);
+    }
+
+    // Admin - upload a photo; the teacher's photoUrl then points at its thumbnail
+    @PostMapping("/{id}/photo")
+    public ResponseEntity<?> uploadPhoto(@PathVariable Long id, @RequestParam("file") MultipartFile file)
+            throws IOException {
+        Teacher teacher = teacherRepository.findById(id).orElse(null);
+        if (teacher == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "No file uploaded"));
+        }
+        PhotoStore.StoredPhoto photo;
+        try {
+            photo = photoStore.store(file.getBytes());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+        String base = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/teachers/photos/").path(photo.hash()).toUriString();
+        teacher.setPhotoUrl(base + "/thumb");
+        teacherRepository.save(teacher);
+        snapshotService.teachersChanged();
+        return ResponseEntity.ok(new ApiResponse(true, "Photo uploaded",
+                Map.of("photoUrl", base + "/thumb", "originalUrl", base, "hash", photo.hash())));
     }
 
     // Admin - CRUD
     @PostMapping
     public ResponseEntity<?> addTeacher(@RequestBody Teacher teacher) {
-        return ResponseEntity.ok(teacherRepository.save(teacher));
+        Teacher saved = teacherRepository.save(teacher);
+        snapshotService.teachersChanged();
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
@@ -40,7 +96,9 @@ public class TeacherController {
             t.setPhotoUrl(updated.getPhotoUrl());
             t.setSection(updated.getSection());
             t.setJoiningYear(updated.getJoiningYear());
-            return ResponseEntity.ok(teacherRepository.save(t));
+            Teacher saved = teacherRepository.save(t);
+            snapshotService.teachersChanged();
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -50,6 +108,7 @@ public class TeacherController {
             return ResponseEntity.notFound().build();
         }
         teacherRepository.deleteById(id);
+        snapshotService.teachersChanged();
         return ResponseEntity.ok(new ApiResponse(true, "Teacher deleted"));
     }
 }
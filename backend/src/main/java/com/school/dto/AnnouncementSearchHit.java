@@ -0,0 +1,22 @@
+package com.school.dto;
+
+import com.school.model.Announcement;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class AnnouncementSearchHit {
+    private Long id;
+    private String title;
+    private String content;
+    private String category;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private double score;
+
+    public static AnnouncementSearchHit of(Announcement a, double score) {
+        return new AnnouncementSearchHit(a.getId(), a.getTitle(), a.getContent(), a.getCategory(),
+                a.getCreatedAt(), a.getUpdatedAt(), Math.round(score * 1000) / 1000.0);
+    }
+}
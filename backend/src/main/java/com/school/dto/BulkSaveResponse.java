@@ -0,0 +1,20 @@
+package com.school.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class BulkSaveResponse {
+    private int rowsSaved;
+    private int recordsSaved;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String field;
+        private String message;
+    }
+}
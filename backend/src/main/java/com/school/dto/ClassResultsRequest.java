@@ -0,0 +1,28 @@
+package com.school.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ClassResultsRequest {
+    private String className;
+    private String section;
+    private String examType;
+    private String academicYear;
+    private List<StudentMarks> students;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    public static class StudentMarks {
+        private Long studentId;
+        private List<SubjectMarks> results;
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    public static class SubjectMarks {
+        private String subject;
+        private Double marksObtained;
+        private Double totalMarks;
+        private String remarks;
+    }
+}
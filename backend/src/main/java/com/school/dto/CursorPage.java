@@ -0,0 +1,12 @@
+package com.school.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing; pass nextCursor as "after" to get the next page
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private Long nextCursor;
+}
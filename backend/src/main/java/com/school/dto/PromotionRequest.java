@@ -0,0 +1,14 @@
+package com.school.dto;
+
+import lombok.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Year-end rollover: current class -> next class (e.g. "Class 8" -> "Graduated")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class PromotionRequest {
+    private Map<String, String> classes = new LinkedHashMap<>();
+    private boolean clearSections;
+    private boolean dryRun;
+}
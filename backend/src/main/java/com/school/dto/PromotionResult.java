@@ -0,0 +1,20 @@
+package com.school.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class PromotionResult {
+    private boolean dryRun;
+    private int studentsUpdated;
+    private List<ClassMove> classes = new ArrayList<>();
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    public static class ClassMove {
+        private String from;
+        private String to;
+        private long students;
+    }
+}
@@ -0,0 +1,102 @@
+package com.school.dto;
+
+import com.school.service.Grades;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Public result card: the student header once, one compact row per subject, and totals per exam
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ResultCard {
+    private StudentHeader student;
+    private List<SubjectRow> results;
+    private List<ExamSummary> exams;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    public static class StudentHeader {
+        private String rollNumber;
+        private String firstName;
+        private String lastName;
+        private LocalDate dateOfBirth;
+        private String className;
+        private String section;
+        private String guardianName;
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    public static class SubjectRow {
+        private Long id;
+        private String subject;
+        private String examType;
+        private String academicYear;
+        private Double marksObtained;
+        private Double totalMarks;
+        private String grade;
+        private String remarks;
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    public static class ExamSummary {
+        private String examType;
+        private String academicYear;
+        private double totalObtained;
+        private double totalMarks;
+        private double percentage;
+        private String overallGrade;
+    }
+
+    private record ExamKey(String examType, String academicYear) {
+    }
+
+    // Splits card rows ordered by roll number into one list per student
+    public static List<List<ResultCardRow>> groupByStudent(List<ResultCardRow> rows) {
+        List<List<ResultCardRow>> groups = new ArrayList<>();
+        List<ResultCardRow> current = null;
+        String roll = null;
+        for (ResultCardRow row : rows) {
+            if (current == null || !row.getRollNumber().equals(roll)) {
+                current = new ArrayList<>();
+                groups.add(current);
+                roll = row.getRollNumber();
+            }
+            current.add(row);
+        }
+        return groups;
+    }
+
+    // Builds the card from the rows of one student, or returns null when there are none
+    public static ResultCard of(List<ResultCardRow> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        ResultCardRow first = rows.get(0);
+        StudentHeader student = new StudentHeader(first.getRollNumber(), first.getFirstName(), first.getLastName(),
+                first.getDateOfBirth(), first.getClassName(), first.getSection(), first.getGuardianName());
+
+        List<SubjectRow> results = new ArrayList<>(rows.size());
+        Map<ExamKey, double[]> totals = new LinkedHashMap<>();
+        for (ResultCardRow r : rows) {
+            if (r.getResultId() == null) {
+                continue;
+            }
+            results.add(new SubjectRow(r.getResultId(), r.getSubject(), r.getExamType(), r.getAcademicYear(),
+                    r.getMarksObtained(), r.getTotalMarks(), r.getGrade(), r.getRemarks()));
+            double[] sum = totals.computeIfAbsent(new ExamKey(r.getExamType(), r.getAcademicYear()),
+                    k -> new double[2]);
+            sum[0] += r.getMarksObtained();
+            sum[1] += r.getTotalMarks();
+        }
+
+        List<ExamSummary> exams = new ArrayList<>(totals.size());
+        totals.forEach((key, sum) -> {
+            double percentage = sum[1] > 0 ? sum[0] / sum[1] * 100 : 0;
+            exams.add(new ExamSummary(key.examType(), key.academicYear(), sum[0], sum[1],
+                    Math.round(percentage * 100) / 100.0, Grades.calculateGrade(percentage)));
+        });
+        return new ResultCard(student, results, exams);
+    }
+}
@@ -0,0 +1,26 @@
+package com.school.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+// One row of the result-card query: the student columns plus one result (all null when the
+// student has no results yet, since the query is a LEFT JOIN)
+@Getter @AllArgsConstructor
+public class ResultCardRow {
+    private String rollNumber;
+    private String firstName;
+    private String lastName;
+    private LocalDate dateOfBirth;
+    private String className;
+    private String section;
+    private String guardianName;
+    private Long resultId;
+    private String subject;
+    private String examType;
+    private String academicYear;
+    private Double marksObtained;
+    private Double totalMarks;
+    private String grade;
+    private String remarks;
+}
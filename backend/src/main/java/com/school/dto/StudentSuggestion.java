@@ -0,0 +1,21 @@
+package com.school.dto;
+
+import com.school.model.Student;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class StudentSuggestion {
+    private Long id;
+    private String rollNumber;
+    private String firstName;
+    private String lastName;
+    private String className;
+    private String section;
+    private String guardianName;
+    private double score;
+
+    public static StudentSuggestion of(Student s, double score) {
+        return new StudentSuggestion(s.getId(), s.getRollNumber(), s.getFirstName(), s.getLastName(),
+                s.getClassName(), s.getSection(), s.getGuardianName(), Math.round(score * 100) / 100.0);
+    }
+}
@@ -1,11 +1,14 @@
 package com.school.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "students")
+// A lazily loaded student is a Hibernate proxy; keep its internals out of JSON
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Student {
 
@@ -1,10 +1,80 @@
 package com.school.repository;
 
+import com.school.dto.ResultCardRow;
 import com.school.model.Result;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ResultRepository extends JpaRepository<Result, Long> {
-    List<Result> findByStudentId(Long studentId);
+
+    // Student columns plus one row per result; a student without results still yields one row
+    String CARD_ROWS = "SELECT new com.school.dto.ResultCardRow(s.rollNumber, s.firstName, s.lastName, "
+            + "s.dateOfBirth, s.className, s.section, s.guardianName, r.id, r.subject, r.examType, "
+            + "r.academicYear, r.marksObtained, r.totalMarks, r.grade, r.remarks) "
+            + "FROM Student s LEFT JOIN Result r ON r.student = s ";
+
+    // Result.student is LAZY; these load it in the same select for endpoints that return or use it
+    @EntityGraph(attributePaths = "student")
+    @Query("SELECT r FROM Result r ORDER BY r.id")
+    List<Result> findAllWithStudent();
+
+    @EntityGraph(attributePaths = "student")
+    Optional<Result> findWithStudentById(Long id);
+
+    // The derived query would join students and filter on s.id, which no index on results covers
+    @Query("SELECT r FROM Result r WHERE r.student.id = :studentId")
+    List<Result> findByStudentId(@Param("studentId") Long studentId);
     List<Result> findByStudentIdAndExamTypeAndAcademicYear(Long studentId, String examType, String academicYear);
+
+    @Query(CARD_ROWS + "WHERE s.rollNumber = :rollNumber AND s.dateOfBirth = :dateOfBirth ORDER BY r.id")
+    List<ResultCardRow> findCardRows(@Param("rollNumber") String rollNumber, @Param("dateOfBirth") LocalDate dateOfBirth);
+
+    @Query(CARD_ROWS + "WHERE s.id = :studentId ORDER BY r.id")
+    List<ResultCardRow> findCardRowsByStudentId(@Param("studentId") Long studentId);
+
+    // All card rows for a batch of students, grouped by student
+    @Query(CARD_ROWS + "WHERE s.id IN :studentIds ORDER BY s.rollNumber, r.id")
+    List<ResultCardRow> findCardRowsForStudents(@Param("studentIds") Collection<Long> studentIds);
+
+    // One exam's card rows for a batch of students, grouped by student
+    @Query(CARD_ROWS + "AND r.examType = :examType AND r.academicYear = :academicYear "
+            + "WHERE s.id IN :studentIds ORDER BY s.rollNumber, r.id")
+    List<ResultCardRow> findExamCardRows(@Param("studentIds") Collection<Long> studentIds,
+                                         @Param("examType") String examType,
+                                         @Param("academicYear") String academicYear);
+
+    @Query("SELECT r FROM Result r JOIN FETCH r.student s WHERE s.className = :className AND s.section = :section "
+            + "AND r.examType = :examType AND r.academicYear = :academicYear")
+    List<Result> findForClassSectionExam(@Param("className") String className, @Param("section") String section,
+                                         @Param("examType") String examType, @Param("academicYear") String academicYear);
+
+    @Query("SELECT r FROM Result r JOIN FETCH r.student s WHERE s.className = :className "
+            + "AND r.examType = :examType AND r.academicYear = :academicYear")
+    List<Result> findForClassExam(@Param("className") String className,
+                                  @Param("examType") String examType, @Param("academicYear") String academicYear);
+
+    // Server-side cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Result r JOIN FETCH r.student ORDER BY r.id")
+    Stream<Result> streamAllWithStudent();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Result r WHERE r.student.id IN :studentIds AND r.examType = :examType AND r.academicYear = :academicYear")
+    int deleteByStudentIdInAndExamTypeAndAcademicYear(@Param("studentIds") Collection<Long> studentIds,
+                                                      @Param("examType") String examType,
+                                                      @Param("academicYear") String academicYear);
 }
@@ -1,10 +1,18 @@
 package com.school.repository;
 
 import com.school.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByRollNumber(String rollNumber);
@@ -12,4 +20,28 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByClassNameAndSection(String className, String section);
     Optional<Student> findByRollNumberAndDateOfBirth(String rollNumber, LocalDate dateOfBirth);
     boolean existsByRollNumber(String rollNumber);
+
+    // Set-based uniqueness check for bulk imports
+    @Query("SELECT s.rollNumber FROM Student s WHERE s.rollNumber IN :rollNumbers")
+    List<String> findExistingRollNumbers(@Param("rollNumbers") Collection<String> rollNumbers);
+
+    // Keyset pages of student ids: all students, a class, or a class section
+    @Query("SELECT s.id FROM Student s WHERE s.id > :after ORDER BY s.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    @Query("SELECT s.id FROM Student s WHERE s.className = :className AND s.id > :after ORDER BY s.id")
+    List<Long> findIdsForClass(@Param("className") String className, @Param("after") Long after, Limit limit);
+
+    @Query("SELECT s.id FROM Student s WHERE s.className = :className AND s.section = :section "
+            + "AND s.id > :after ORDER BY s.id")
+    List<Long> findIdsForClassSection(@Param("className") String className, @Param("section") String section,
+                                      @Param("after") Long after, Limit limit);
+
+    // Server-side cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    Stream<Student> streamAll();
 }
@@ -0,0 +1,343 @@
+package com.school.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pushes announcement changes to open browser tabs over Server-Sent Events. Idle connections are
+// async requests with no thread behind them; each client has a small bounded queue drained by a
+// task on a small pool of platform threads, one task per client at a time. SseEmitter.send is a
+// blocking, synchronized write, so a client that stops reading holds a pool thread until the
+// container's write timeout (server.tomcat.connection-timeout, 60s by default) fails the send.
+// Virtual threads would not help here: a blocked write inside synchronized pins the carrier.
+// A send running past send-timeout-ms gets its client dropped and the pool grows by one thread
+// for as long as that send stays parked (up to max-stalled-sends), so stalled clients never
+// starve healthy ones of senders. A client whose queue overflows is dropped too; both reconnect
+// with Last-Event-ID. The last few events are kept for resume; a client that missed more than
+// that gets a "reset" event and reloads the list.
+@Service
+public class AnnouncementBroadcaster {
+
+    private record Event(long id, String name, String data) {
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().id(Long.toString(id)).name(name).data(data);
+        }
+    }
+
+    private static final Event HEARTBEAT = new Event(0, null, null);
+    private static final long STALLED = Long.MIN_VALUE;
+
+    private final class Client {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+        // System.nanoTime() when the send in progress started, 0 when not sending, STALLED once
+        // dropStalled() has given the send an extra pool thread
+        private final AtomicLong sendStarted = new AtomicLong();
+
+        Client(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Event event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                dropped.increment();
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Event event;
+                while (!closed && (event = queue.poll()) != null) {
+                    sendStarted.set(System.nanoTime());
+                    try {
+                        emitter.send(event.toSse());
+                    } finally {
+                        sendDone();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away mid-send
+                close();
+            } finally {
+                if (closed) {
+                    complete();
+                }
+                draining.set(false);
+            }
+            // A close() or offer() that raced with the end of this drain could not schedule one
+            if (closed ? !completed.get() : !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        // Only called from a drain, so it never runs alongside (and never waits for) a send
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                try {
+                    emitter.complete();
+                } catch (RuntimeException e) {
+                    // Already completed by the container
+                }
+            }
+        }
+
+        // Claims the send in progress as stalled if it has run past the limit; at most once per send
+        boolean markStalled(long now, long limitNanos) {
+            long started = sendStarted.get();
+            return started != 0 && started != STALLED && now - started > limitNanos
+                    && sendStarted.compareAndSet(started, STALLED);
+        }
+
+        private void sendDone() {
+            if (sendStarted.getAndSet(0) == STALLED) {
+                resizeSenders(-1);
+            }
+        }
+
+        // Never blocks the caller: the drain completes the emitter once any send in progress returns
+        void close() {
+            if (!closed) {
+                closed = true;
+                clients.remove(this);
+                queue.clear();
+                schedule();
+            }
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final Deque<Event> replay = new ArrayDeque<>();
+    private final Object lock = new Object();
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeats;
+    private final long timeoutMs;
+    private final int replaySize;
+    private final int clientQueue;
+    private final int maxClients;
+    private final long sendTimeoutNanos;
+    private final int sendThreads;
+    private final int maxStalledSends;
+    // Sends parked on a stalled client, each covered by an extra sender thread up to maxStalledSends
+    private int stalledSends;
+    // Starts at the boot time in ms, so ids keep increasing across restarts and stale ids read as gaps
+    private long sequence = System.currentTimeMillis();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder connected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+
+    public AnnouncementBroadcaster(ObjectMapper objectMapper,
+                                   @Value("${announcements.stream.timeout-ms:1800000}") long timeoutMs,
+                                   @Value("${announcements.stream.heartbeat-seconds:25}") long heartbeatSeconds,
+                                   @Value("${announcements.stream.replay-size:256}") int replaySize,
+                                   @Value("${announcements.stream.client-queue:32}") int clientQueue,
+                                   @Value("${announcements.stream.max-clients:5000}") int maxClients,
+                                   @Value("${announcements.stream.send-threads:4}") int sendThreads,
+                                   @Value("${announcements.stream.send-timeout-ms:5000}") long sendTimeoutMs,
+                                   @Value("${announcements.stream.max-stalled-sends:64}") int maxStalledSends) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.replaySize = replaySize;
+        this.clientQueue = clientQueue;
+        this.maxClients = maxClients;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.sendThreads = sendThreads;
+        this.maxStalledSends = maxStalledSends;
+        AtomicInteger senderCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(sendThreads, sendThreads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "sse-send-" + senderCount.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sse-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        // Keeps proxies from closing idle streams and finds dead connections
+        heartbeats.scheduleAtFixedRate(() -> clients.forEach(c -> c.offer(HEARTBEAT)),
+                heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        heartbeats.scheduleAtFixedRate(this::dropStalled, sendTimeoutMs, sendTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Opens a stream, first replaying whatever the client missed since lastEventId; null when full
+    public SseEmitter subscribe(String lastEventId) {
+        if (clients.size() >= maxClients) {
+            rejected.increment();
+            return null;
+        }
+        SseEmitter emitter = newEmitter(timeoutMs);
+        synchronized (lock) {
+            List<Event> missed = missedSince(lastEventId);
+            Client client = new Client(emitter, clientQueue + missed.size());
+            emitter.onCompletion(() -> client.close());
+            emitter.onTimeout(() -> client.close());
+            emitter.onError(e -> client.close());
+            clients.add(client);
+            connected.increment();
+            missed.forEach(client::offer);
+        }
+        return emitter;
+    }
+
+    // Tests override this to stand in for a client connection
+    SseEmitter newEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    public void created(Object announcement) {
+        publish("created", toJson(announcement));
+    }
+
+    public void updated(Object announcement) {
+        publish("updated", toJson(announcement));
+    }
+
+    public void deleted(Long id) {
+        publish("deleted", toJson(Map.of("id", id)));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("clients", clients.size());
+        stats.put("connected", connected.sum());
+        stats.put("published", published.sum());
+        stats.put("droppedSlow", dropped.sum());
+        stats.put("droppedStalled", stalled.sum());
+        synchronized (senders) {
+            stats.put("stalledSends", stalledSends);
+        }
+        stats.put("senderThreads", senders.getPoolSize());
+        stats.put("rejected", rejected.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("resets", resets.sum());
+        synchronized (lock) {
+            stats.put("replayBuffer", replay.size());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        new ArrayList<>(clients).forEach(Client::close);
+        senders.shutdown();
+    }
+
+    // The stuck send keeps its thread until the write fails, so the client stops getting work and
+    // another thread takes the parked one's place until then
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Client client : clients) {
+            if (client.markStalled(now, sendTimeoutNanos)) {
+                stalled.increment();
+                resizeSenders(1);
+                client.close();
+            }
+        }
+    }
+
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            stalledSends += delta;
+            int size = sendThreads + Math.min(stalledSends, maxStalledSends);
+            // Core may never exceed max, so grow max first and shrink it last
+            if (size > senders.getMaximumPoolSize()) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else if (size < senders.getMaximumPoolSize()) {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    // Offers are non-blocking, so holding the lock while fanning out is cheap and keeps order
+    private void publish(String name, String data) {
+        synchronized (lock) {
+            Event event = new Event(++sequence, name, data);
+            replay.addLast(event);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            published.increment();
+            clients.forEach(c -> c.offer(event));
+        }
+    }
+
+    private List<Event> missedSince(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            last = -1;
+        }
+        Event oldest = replay.peekFirst();
+        boolean gap = last < 0 || last > sequence
+                || (oldest != null ? last < oldest.id() - 1 : last < sequence);
+        if (gap) {
+            resets.increment();
+            return List.of(new Event(sequence, "reset", "{}"));
+        }
+        List<Event> missed = new ArrayList<>();
+        for (Event event : replay) {
+            if (event.id() > last) {
+                missed.add(event);
+            }
+        }
+        replayed.add(missed.size());
+        return missed;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode announcement event", e);
+        }
+    }
+}
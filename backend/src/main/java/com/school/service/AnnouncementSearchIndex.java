@@ -0,0 +1,211 @@
+package com.school.service;
+
+import com.school.dto.AnnouncementSearchHit;
+import com.school.model.Announcement;
+import com.school.repository.AnnouncementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over announcement titles and content, ranked with BM25.
+// Built from the database on first use, then kept current by AnnouncementController writes.
+@Service
+@RequiredArgsConstructor
+public class AnnouncementSearchIndex {
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_PREFIX = 2;
+    private static final int MAX_LIMIT = 100;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "will", "with");
+
+    private record Doc(Announcement announcement, Map<String, Float> termWeights, float length) {
+    }
+
+    private final AnnouncementRepository announcementRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    // term -> (announcement id -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private double totalLength;
+    private boolean loaded;
+
+    public List<AnnouncementSearchHit> search(String query, String category, LocalDate from, LocalDate to, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = new HashMap<>();
+            float avgLength = docs.isEmpty() ? 1f : (float) (totalLength / docs.size());
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                boolean last = i == terms.size() - 1;
+                // The last word may still be being typed, so it also matches as a prefix
+                Map<String, Map<Long, Float>> matches;
+                if (last && term.length() >= MIN_PREFIX) {
+                    matches = postings.subMap(term, true, term + Character.MAX_VALUE, false);
+                } else {
+                    Map<Long, Float> posting = postings.get(term);
+                    matches = posting != null ? Map.of(term, posting) : Map.of();
+                }
+                for (Map<Long, Float> posting : matches.values()) {
+                    float idf = (float) Math.log(1 + (docs.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+                    for (Map.Entry<Long, Float> p : posting.entrySet()) {
+                        Doc doc = docs.get(p.getKey());
+                        float tf = p.getValue();
+                        float norm = tf + K1 * (1 - B + B * doc.length() / avgLength);
+                        scores.merge(p.getKey(), idf * tf * (K1 + 1) / norm, Float::sum);
+                    }
+                }
+            }
+
+            int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+            PriorityQueue<Map.Entry<Long, Float>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Float> score : scores.entrySet()) {
+                Announcement a = docs.get(score.getKey()).announcement();
+                if (!matchesFilters(a, category, from, to)) {
+                    continue;
+                }
+                top.add(score);
+                if (top.size() > max) {
+                    top.poll();
+                }
+            }
+            List<AnnouncementSearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<Long, Float> e = top.poll();
+                hits.add(AnnouncementSearchHit.of(docs.get(e.getKey()).announcement(), e.getValue()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void upsert(Announcement announcement) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeDoc(announcement.getId());
+                addDoc(announcement);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeDoc(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                announcementRepository.findAll().forEach(this::addDoc);
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDoc(Announcement a) {
+        Map<String, Float> weights = new HashMap<>();
+        List<String> titleTerms = tokenize(a.getTitle());
+        List<String> contentTerms = tokenize(a.getContent());
+        titleTerms.forEach(t -> weights.merge(t, TITLE_WEIGHT, Float::sum));
+        contentTerms.forEach(t -> weights.merge(t, 1f, Float::sum));
+        float length = titleTerms.size() * TITLE_WEIGHT + contentTerms.size();
+
+        // Keep a detached copy so later changes to the entity cannot leak into the index
+        Announcement copy = new Announcement(a.getId(), a.getTitle(), a.getContent(), a.getCategory(),
+                a.getCreatedAt(), a.getUpdatedAt());
+        docs.put(a.getId(), new Doc(copy, weights, length));
+        totalLength += length;
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(a.getId(), weight));
+    }
+
+    private void removeDoc(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        totalLength -= doc.length();
+        for (String term : doc.termWeights().keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static boolean matchesFilters(Announcement a, String category, LocalDate from, LocalDate to) {
+        if (category != null && !category.isBlank() && !category.equalsIgnoreCase(a.getCategory())) {
+            return false;
+        }
+        if (a.getCreatedAt() == null) {
+            return from == null && to == null;
+        }
+        LocalDate created = a.getCreatedAt().toLocalDate();
+        return (from == null || !created.isBefore(from)) && (to == null || !created.isAfter(to));
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (!current.isEmpty()) {
+                String term = normalize(current.toString());
+                if (!STOP_WORDS.contains(term)) {
+                    terms.add(term);
+                }
+                current.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    // Light plural folding so "holidays" matches "holiday" and "exams" matches "exam"
+    private static String normalize(String term) {
+        if (term.length() > 3 && term.endsWith("s") && !term.endsWith("ss")) {
+            return term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+}
@@ -0,0 +1,359 @@
+package com.school.service;
+
+import com.school.model.Result;
+import com.school.model.Student;
+import com.school.repository.ResultRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per (className, section, examType, academicYear) aggregates: subject averages, toppers,
+// rank lists and grade histograms. An aggregate is loaded from the database the first time it
+// is asked for and then kept up to date from ResultController writes instead of being recomputed.
+// An empty section means "all sections of the class".
+@Service
+@RequiredArgsConstructor
+public class ClassAnalyticsService {
+
+    public record Key(String className, String section, String examType, String academicYear) {
+        public Key {
+            section = section == null ? "" : section;
+        }
+    }
+
+    // Immutable copy of the fields of a Result that the aggregates depend on
+    public record Entry(Long resultId, Long studentId, String rollNumber, String studentName,
+                        String className, String section, String examType, String academicYear,
+                        String subject, double marksObtained, double totalMarks, String grade) {
+
+        public static Entry of(Result r) {
+            Student s = r.getStudent();
+            return new Entry(r.getId(), s.getId(), s.getRollNumber(), s.getFirstName() + " " + s.getLastName(),
+                    s.getClassName(), s.getSection(), r.getExamType(), r.getAcademicYear(), r.getSubject(),
+                    r.getMarksObtained(), r.getTotalMarks(),
+                    Grades.calculateGrade(r.getMarksObtained(), r.getTotalMarks()));
+        }
+
+        List<Key> keys() {
+            if (section == null || section.isBlank()) {
+                return List.of(new Key(className, "", examType, academicYear));
+            }
+            return List.of(new Key(className, section, examType, academicYear),
+                    new Key(className, "", examType, academicYear));
+        }
+    }
+
+    private final ResultRepository resultRepository;
+
+    private final Map<Key, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    // Bumped by every write so an aggregate loaded concurrently with a write is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public Map<String, Object> getAnalytics(Key key) {
+        return aggregateFor(key).toResponse(key);
+    }
+
+    public void resultAdded(Result result) {
+        Entry entry = Entry.of(result);
+        afterCommit(() -> apply(entry, true));
+    }
+
+    public void resultRemoved(Entry before) {
+        afterCommit(() -> apply(before, false));
+    }
+
+    public void resultUpdated(Entry before, Result after) {
+        Entry entry = Entry.of(after);
+        afterCommit(() -> {
+            apply(before, false);
+            apply(entry, true);
+        });
+    }
+
+    // Drops every aggregate of a class; used when students move or bulk writes replace a class
+    public void invalidateClass(String className) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            aggregates.keySet().removeIf(k -> Objects.equals(k.className(), className));
+        });
+    }
+
+    // Recomputes every loaded aggregate from the database and reports where the incremental state differed
+    public Map<String, Object> rebuild() {
+        List<Map<String, Object>> mismatches = new ArrayList<>();
+        int checked = 0;
+        for (Key key : new ArrayList<>(aggregates.keySet())) {
+            long stamp = generation.get();
+            Aggregate fresh = load(key);
+            Aggregate current = aggregates.get(key);
+            checked++;
+            if (current != null) {
+                List<String> differences = current.diff(fresh);
+                if (!differences.isEmpty()) {
+                    Map<String, Object> mismatch = new LinkedHashMap<>();
+                    mismatch.put("key", key);
+                    mismatch.put("differences", differences);
+                    mismatches.add(mismatch);
+                }
+            }
+            if (generation.get() == stamp) {
+                aggregates.put(key, fresh);
+            } else {
+                aggregates.remove(key);
+            }
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("checked", checked);
+        report.put("mismatches", mismatches);
+        return report;
+    }
+
+    private Aggregate aggregateFor(Key key) {
+        Aggregate aggregate = aggregates.get(key);
+        if (aggregate != null) {
+            return aggregate;
+        }
+        long stamp = generation.get();
+        aggregate = load(key);
+        synchronized (aggregates) {
+            if (generation.get() == stamp) {
+                Aggregate existing = aggregates.putIfAbsent(key, aggregate);
+                return existing != null ? existing : aggregate;
+            }
+        }
+        return aggregate;
+    }
+
+    private Aggregate load(Key key) {
+        List<Result> results = key.section().isEmpty()
+                ? resultRepository.findForClassExam(key.className(), key.examType(), key.academicYear())
+                : resultRepository.findForClassSectionExam(key.className(), key.section(), key.examType(), key.academicYear());
+        Aggregate aggregate = new Aggregate();
+        for (Result r : results) {
+            aggregate.add(Entry.of(r));
+        }
+        return aggregate;
+    }
+
+    private void apply(Entry entry, boolean add) {
+        synchronized (aggregates) {
+            generation.incrementAndGet();
+        }
+        for (Key key : entry.keys()) {
+            Aggregate aggregate = aggregates.get(key);
+            if (aggregate != null) {
+                if (add) {
+                    aggregate.add(entry);
+                } else {
+                    aggregate.remove(entry);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static class SubjectStats {
+        int count;
+        double marksSum;
+        double percentSum;
+        final int[] grades = new int[Grades.BANDS.size()];
+    }
+
+    private static class StudentStats {
+        String rollNumber;
+        String name;
+        int subjects;
+        double marksSum;
+        double totalSum;
+    }
+
+    private static class Aggregate {
+
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<String, SubjectStats> subjects = new TreeMap<>();
+        private final Map<Long, StudentStats> students = new HashMap<>();
+
+        synchronized void add(Entry e) {
+            if (entries.put(e.resultId(), e) != null) {
+                return;
+            }
+            SubjectStats subject = subjects.computeIfAbsent(e.subject(), k -> new SubjectStats());
+            subject.count++;
+            subject.marksSum += e.marksObtained();
+            subject.percentSum += percent(e.marksObtained(), e.totalMarks());
+            subject.grades[Grades.BANDS.indexOf(e.grade())]++;
+
+            StudentStats student = students.computeIfAbsent(e.studentId(), k -> new StudentStats());
+            student.rollNumber = e.rollNumber();
+            student.name = e.studentName();
+            student.subjects++;
+            student.marksSum += e.marksObtained();
+            student.totalSum += e.totalMarks();
+        }
+
+        synchronized void remove(Entry e) {
+            Entry existing = entries.remove(e.resultId());
+            if (existing == null) {
+                return;
+            }
+            SubjectStats subject = subjects.get(existing.subject());
+            subject.count--;
+            subject.marksSum -= existing.marksObtained();
+            subject.percentSum -= percent(existing.marksObtained(), existing.totalMarks());
+            subject.grades[Grades.BANDS.indexOf(existing.grade())]--;
+            if (subject.count == 0) {
+                subjects.remove(existing.subject());
+            }
+
+            StudentStats student = students.get(existing.studentId());
+            student.subjects--;
+            student.marksSum -= existing.marksObtained();
+            student.totalSum -= existing.totalMarks();
+            if (student.subjects == 0) {
+                students.remove(existing.studentId());
+            }
+        }
+
+        synchronized Map<String, Object> toResponse(Key key) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("className", key.className());
+            response.put("section", key.section());
+            response.put("examType", key.examType());
+            response.put("academicYear", key.academicYear());
+            response.put("students", students.size());
+            response.put("results", entries.size());
+
+            Map<String, List<Entry>> toppers = new HashMap<>();
+            for (Entry e : entries.values()) {
+                List<Entry> best = toppers.computeIfAbsent(e.subject(), k -> new ArrayList<>());
+                double bestPercent = best.isEmpty() ? -1 : percent(best.get(0).marksObtained(), best.get(0).totalMarks());
+                double p = percent(e.marksObtained(), e.totalMarks());
+                if (p > bestPercent) {
+                    best.clear();
+                    best.add(e);
+                } else if (p == bestPercent) {
+                    best.add(e);
+                }
+            }
+
+            List<Map<String, Object>> subjectRows = new ArrayList<>();
+            subjects.forEach((name, stats) -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("subject", name);
+                row.put("count", stats.count);
+                row.put("averageMarks", round(stats.marksSum / stats.count));
+                row.put("averagePercentage", round(stats.percentSum / stats.count));
+                row.put("toppers", toppers.getOrDefault(name, List.of()).stream().map(t -> {
+                    Map<String, Object> topper = new LinkedHashMap<>();
+                    topper.put("studentId", t.studentId());
+                    topper.put("rollNumber", t.rollNumber());
+                    topper.put("name", t.studentName());
+                    topper.put("marksObtained", t.marksObtained());
+                    topper.put("totalMarks", t.totalMarks());
+                    return topper;
+                }).toList());
+                row.put("gradeDistribution", histogram(stats.grades));
+                subjectRows.add(row);
+            });
+            response.put("subjects", subjectRows);
+
+            List<Map.Entry<Long, StudentStats>> ranked = new ArrayList<>(students.entrySet());
+            ranked.sort(Comparator.comparingDouble((Map.Entry<Long, StudentStats> s) ->
+                    -percent(s.getValue().marksSum, s.getValue().totalSum)));
+            int[] overall = new int[Grades.BANDS.size()];
+            List<Map<String, Object>> ranking = new ArrayList<>();
+            int rank = 0;
+            double previous = Double.NaN;
+            for (int i = 0; i < ranked.size(); i++) {
+                StudentStats s = ranked.get(i).getValue();
+                double p = percent(s.marksSum, s.totalSum);
+                if (p != previous) {
+                    rank = i + 1;
+                    previous = p;
+                }
+                String grade = Grades.calculateGrade(p);
+                overall[Grades.BANDS.indexOf(grade)]++;
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("rank", rank);
+                row.put("studentId", ranked.get(i).getKey());
+                row.put("rollNumber", s.rollNumber);
+                row.put("name", s.name);
+                row.put("marksObtained", s.marksSum);
+                row.put("totalMarks", s.totalSum);
+                row.put("percentage", round(p));
+                row.put("grade", grade);
+                ranking.add(row);
+            }
+            response.put("ranking", ranking);
+            response.put("gradeDistribution", histogram(overall));
+            return response;
+        }
+
+        // Compares the derived state of two aggregates; used by rebuild()
+        synchronized List<String> diff(Aggregate other) {
+            List<String> differences = new ArrayList<>();
+            if (!entries.keySet().equals(other.entries.keySet())) {
+                differences.add("result ids differ");
+            }
+            if (!subjects.keySet().equals(other.subjects.keySet())) {
+                differences.add("subjects differ: " + subjects.keySet() + " vs " + other.subjects.keySet());
+            }
+            subjects.forEach((name, stats) -> {
+                SubjectStats o = other.subjects.get(name);
+                if (o != null && (stats.count != o.count || !close(stats.marksSum, o.marksSum)
+                        || !close(stats.percentSum, o.percentSum) || !Arrays.equals(stats.grades, o.grades))) {
+                    differences.add("subject " + name + " aggregates differ");
+                }
+            });
+            if (!students.keySet().equals(other.students.keySet())) {
+                differences.add("student ids differ");
+            }
+            students.forEach((id, stats) -> {
+                StudentStats o = other.students.get(id);
+                if (o != null && (stats.subjects != o.subjects || !close(stats.marksSum, o.marksSum)
+                        || !close(stats.totalSum, o.totalSum))) {
+                    differences.add("student " + id + " totals differ");
+                }
+            });
+            return differences;
+        }
+
+        private static Map<String, Integer> histogram(int[] counts) {
+            Map<String, Integer> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                histogram.put(Grades.BANDS.get(i), counts[i]);
+            }
+            return histogram;
+        }
+    }
+
+    private static double percent(double marks, double total) {
+        return total > 0 ? (marks / total) * 100 : 0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static boolean close(double a, double b) {
+        return Math.abs(a - b) < 1e-6;
+    }
+}
@@ -0,0 +1,100 @@
+package com.school.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Per-collection version counters for the public read-mostly endpoints. Each version gives a
+// strong ETag and a Last-Modified time, so conditional GETs get a 304 without touching the database.
+// Versions are seeded from the start time so ETags from a previous run never match.
+@Component
+public class ContentVersions {
+
+    public enum Collection {
+        ANNOUNCEMENTS("a"),
+        TEACHERS("t");
+
+        private final String prefix;
+
+        Collection(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    public record Version(String etag, long lastModified) {
+        // ETag of the gzip-encoded body of the same version
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    private final Map<Collection, AtomicReference<Version>> versions = new EnumMap<>(Collection.class);
+    private final CacheControl cacheControl;
+
+    public ContentVersions(@Value("${http.public-cache.max-age-seconds:30}") long maxAge,
+                           @Value("${http.public-cache.shared-max-age-seconds:60}") long sharedMaxAge) {
+        long now = System.currentTimeMillis();
+        for (Collection c : Collection.values()) {
+            versions.put(c, new AtomicReference<>(new Version(etag(c, now), now)));
+        }
+        this.cacheControl = CacheControl.maxAge(maxAge, TimeUnit.SECONDS)
+                .sMaxAge(sharedMaxAge, TimeUnit.SECONDS)
+                .staleWhileRevalidate(sharedMaxAge, TimeUnit.SECONDS)
+                .cachePublic();
+    }
+
+    public Version current(Collection collection) {
+        return versions.get(collection).get();
+    }
+
+    // Call after every write to the collection
+    public Version bump(Collection collection) {
+        return versions.get(collection).updateAndGet(v -> {
+            long now = Math.max(System.currentTimeMillis(), v.lastModified() + 1);
+            return new Version(etag(collection, now), now);
+        });
+    }
+
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+
+    // etag is that of the representation being served (see Version.gzipEtag)
+    public static boolean isNotModified(WebRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifModifiedSince != null) {
+            try {
+                long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant().toEpochMilli();
+                return lastModified / 1000 * 1000 <= since;
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(Collection collection, long version) {
+        return "\"" + collection.prefix + "-" + Long.toString(version, 36) + "\"";
+    }
+}
@@ -0,0 +1,202 @@
+package com.school.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.model.Result;
+import com.school.model.Student;
+import com.school.repository.ResultRepository;
+import com.school.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Streams whole tables to an output stream as NDJSON or CSV. Rows are read through a
+// server-side cursor and detached as soon as they are written, so memory stays flat.
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format from(String value) {
+            return "csv".equalsIgnoreCase(value) ? CSV : NDJSON;
+        }
+    }
+
+    private static final String[] RESULT_COLUMNS = {
+        "id", "studentId", "rollNumber", "studentName", "className", "section", "subject", "examType",
+        "academicYear", "semester", "marksObtained", "totalMarks", "grade", "remarks"
+    };
+
+    private static final String[] STUDENT_COLUMNS = {
+        "id", "rollNumber", "firstName", "lastName", "dateOfBirth", "gender", "email", "phone", "address",
+        "className", "section", "guardianName", "guardianPhone", "admissionYear"
+    };
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ResultRepository resultRepository;
+    private final StudentRepository studentRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportResults(Format format, OutputStream out) throws IOException {
+        try (Stream<Result> rows = resultRepository.streamAllWithStudent();
+             RowWriter writer = new RowWriter(format, RESULT_COLUMNS, out)) {
+            long count = 0;
+            for (Iterator<Result> it = rows.iterator(); it.hasNext(); ) {
+                Result r = it.next();
+                Student s = r.getStudent();
+                writer.write(r.getId(), s.getId(), s.getRollNumber(), s.getFirstName() + " " + s.getLastName(),
+                        s.getClassName(), s.getSection(), r.getSubject(), r.getExamType(), r.getAcademicYear(),
+                        r.getSemester(), r.getMarksObtained(), r.getTotalMarks(), r.getGrade(), r.getRemarks());
+                entityManager.detach(r);
+                entityManager.detach(s);
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+            return count;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportStudents(Format format, OutputStream out) throws IOException {
+        try (Stream<Student> rows = studentRepository.streamAll();
+             RowWriter writer = new RowWriter(format, STUDENT_COLUMNS, out)) {
+            long count = 0;
+            for (Iterator<Student> it = rows.iterator(); it.hasNext(); ) {
+                Student s = it.next();
+                writer.write(s.getId(), s.getRollNumber(), s.getFirstName(), s.getLastName(), s.getDateOfBirth(),
+                        s.getGender(), s.getEmail(), s.getPhone(), s.getAddress(), s.getClassName(), s.getSection(),
+                        s.getGuardianName(), s.getGuardianPhone(), s.getAdmissionYear());
+                entityManager.detach(s);
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+            return count;
+        }
+    }
+
+    // Writes flat rows without building intermediate objects; closing it does not close the target stream
+    private class RowWriter implements Closeable {
+
+        private final Format format;
+        private final String[] columns;
+        private final JsonGenerator json;
+        private final Writer csv;
+
+        RowWriter(Format format, String[] columns, OutputStream out) throws IOException {
+            this.format = format;
+            this.columns = columns;
+            if (format == Format.CSV) {
+                this.json = null;
+                this.csv = new BufferedWriter(new OutputStreamWriter(new NonClosingOutputStream(out), StandardCharsets.UTF_8));
+                writeCsvRow((Object[]) columns);
+            } else {
+                this.csv = null;
+                this.json = objectMapper.getFactory().createGenerator(new NonClosingOutputStream(out));
+            }
+        }
+
+        void write(Object... values) throws IOException {
+            if (csv != null) {
+                writeCsvRow(values);
+                return;
+            }
+            json.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    json.writeNullField(columns[i]);
+                } else if (value instanceof Number n) {
+                    json.writeFieldName(columns[i]);
+                    if (n instanceof Double d) {
+                        json.writeNumber(d);
+                    } else {
+                        json.writeNumber(n.longValue());
+                    }
+                } else {
+                    json.writeStringField(columns[i], value.toString());
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        void flush() throws IOException {
+            if (csv != null) {
+                csv.flush();
+            } else {
+                json.flush();
+            }
+        }
+
+        private void writeCsvRow(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    csv.write(',');
+                }
+                if (values[i] != null) {
+                    csv.write(escapeCsv(values[i].toString()));
+                }
+            }
+            csv.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (csv != null) {
+                csv.close();
+            } else {
+                json.close();
+            }
+        }
+    }
+
+    private static String escapeCsv(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
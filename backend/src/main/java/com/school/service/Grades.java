@@ -0,0 +1,26 @@
+package com.school.service;
+
+import java.util.List;
+
+// Grade bands shared by result entry, analytics and report cards
+public final class Grades {
+
+    public static final List<String> BANDS = List.of("A+", "A", "B+", "B", "C", "D", "F");
+
+    private Grades() {
+    }
+
+    public static String calculateGrade(double percentage) {
+        if (percentage >= 90) return "A+";
+        if (percentage >= 80) return "A";
+        if (percentage >= 70) return "B+";
+        if (percentage >= 60) return "B";
+        if (percentage >= 50) return "C";
+        if (percentage >= 40) return "D";
+        return "F";
+    }
+
+    public static String calculateGrade(double marksObtained, double totalMarks) {
+        return calculateGrade((marksObtained / totalMarks) * 100);
+    }
+}
@@ -0,0 +1,81 @@
+package com.school.service;
+
+import com.school.dto.CursorPage;
+import com.school.model.Result;
+import com.school.model.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Keyset (id > cursor) pagination for admin listings. Only the filters actually given end up
+// in the WHERE clause, so each combination can use its composite index.
+@Service
+@Transactional(readOnly = true)
+public class ListingService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CursorPage<Student> students(Long after, Integer size, String className, String section) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = cb.createQuery(Student.class);
+        Root<Student> s = query.from(Student.class);
+
+        List<Predicate> where = new ArrayList<>();
+        addEquals(cb, where, s.get("className"), className);
+        addEquals(cb, where, s.get("section"), section);
+        if (after != null) {
+            where.add(cb.greaterThan(s.get("id"), after));
+        }
+        query.select(s).where(where.toArray(Predicate[]::new)).orderBy(cb.asc(s.get("id")));
+        return page(query, size, Student::getId);
+    }
+
+    @SuppressWarnings("unchecked")
+    public CursorPage<Result> results(Long after, Integer size, String className, String section,
+                                      String academicYear, String examType, String subject) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Result> query = cb.createQuery(Result.class);
+        Root<Result> r = query.from(Result.class);
+        // Fetch the student in the same query instead of one select per row
+        Join<Result, Student> s = (Join<Result, Student>) r.<Result, Student>fetch("student");
+
+        List<Predicate> where = new ArrayList<>();
+        addEquals(cb, where, s.get("className"), className);
+        addEquals(cb, where, s.get("section"), section);
+        addEquals(cb, where, r.get("academicYear"), academicYear);
+        addEquals(cb, where, r.get("examType"), examType);
+        addEquals(cb, where, r.get("subject"), subject);
+        if (after != null) {
+            where.add(cb.greaterThan(r.get("id"), after));
+        }
+        query.select(r).where(where.toArray(Predicate[]::new)).orderBy(cb.asc(r.get("id")));
+        return page(query, size, Result::getId);
+    }
+
+    private <T> CursorPage<T> page(CriteriaQuery<T> query, Integer size, Function<T, Long> idOf) {
+        int limit = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists
+        List<T> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new CursorPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+
+    private static void addEquals(CriteriaBuilder cb, List<Predicate> where, Path<String> path, String value) {
+        if (value != null && !value.isBlank()) {
+            where.add(cb.equal(path, value));
+        }
+    }
+}
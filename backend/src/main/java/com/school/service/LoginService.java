@@ -0,0 +1,141 @@
+package com.school.service;
+
+import com.school.model.User;
+import com.school.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Password login with a single user load. BCrypt runs on a small dedicated pool with a bounded
+// queue, so a morning login rush cannot occupy every Tomcat worker; when the queue is full the
+// login is rejected immediately. Hashes stored with an older BCrypt cost are upgraded on success.
+@Service
+public class LoginService {
+
+    public static class LoginBusyException extends RuntimeException {
+        public LoginBusyException(String message) {
+            super(message);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashPool;
+    private final long timeoutMs;
+    // Checked when the username does not exist, so unknown users take as long as wrong passwords
+    private final String dummyHash;
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public LoginService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                        @Value("${login.hash-threads:2}") int threads,
+                        @Value("${login.queue-capacity:16}") int queueCapacity,
+                        @Value("${login.timeout-ms:10000}") long timeoutMs) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.dummyHash = passwordEncoder.encode("dummy-password-for-timing");
+    }
+
+    // Returns the authenticated user, or throws BadCredentialsException / LoginBusyException
+    public User authenticate(String username, String password) {
+        Optional<User> found = username != null ? userRepository.findByUsername(username) : Optional.empty();
+        String stored = found.map(User::getPassword).orElse(dummyHash);
+        boolean matches = runOnHashPool(() -> password != null && passwordEncoder.matches(password, stored));
+        if (found.isEmpty() || !matches) {
+            failures.increment();
+            throw new BadCredentialsException("Invalid username or password");
+        }
+
+        User user = found.get();
+        if (passwordEncoder.upgradeEncoding(stored)) {
+            user.setPassword(runOnHashPool(() -> passwordEncoder.encode(password)));
+            userRepository.save(user);
+            rehashed.increment();
+        }
+        successes.increment();
+        return user;
+    }
+
+    public Map<String, Object> stats() {
+        long count = hashCount.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("successes", successes.sum());
+        stats.put("failures", failures.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("rehashed", rehashed.sum());
+        stats.put("hashes", count);
+        stats.put("avgHashMs", count > 0 ? hashNanos.sum() / count / 1_000_000.0 : 0);
+        stats.put("maxHashMs", maxHashNanos.get() / 1_000_000.0);
+        stats.put("avgQueueWaitMs", count > 0 ? queueWaitNanos.sum() / count / 1_000_000.0 : 0);
+        stats.put("maxQueueWaitMs", maxQueueWaitNanos.get() / 1_000_000.0);
+        stats.put("queued", hashPool.getQueue().size());
+        stats.put("active", hashPool.getActiveCount());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    private <T> T runOnHashPool(Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = hashPool.submit(() -> {
+                long started = System.nanoTime();
+                queueWaitNanos.add(started - submitted);
+                maxQueueWaitNanos.accumulate(started - submitted);
+                try {
+                    return work.call();
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    hashCount.increment();
+                    hashNanos.add(elapsed);
+                    maxHashNanos.accumulate(elapsed);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new LoginBusyException("Too many logins in progress, please try again shortly");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new LoginBusyException("Login timed out, please try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoginBusyException("Login interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.school.service;
+
+import com.school.dto.PromotionRequest;
+import com.school.dto.PromotionResult;
+import com.school.dto.PromotionResult.ClassMove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+// Year-end promotion as one set-based UPDATE: every mapped class moves in a single CASE statement,
+// so "Class 5" -> "Class 6" and "Class 6" -> "Class 7" cannot cascade, and the cost grows with the
+// number of classes rather than students. A dry run reports the per-class counts without writing.
+@Service
+@RequiredArgsConstructor
+public class PromotionService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ResultLookupCache lookupCache;
+    private final ClassAnalyticsService analyticsService;
+    private final StudentSearchIndex searchIndex;
+
+    public PromotionResult promote(PromotionRequest request) {
+        Map<String, String> mapping = validate(request.getClasses());
+        String placeholders = String.join(", ", Collections.nCopies(mapping.size(), "?"));
+        Object[] fromClasses = mapping.keySet().toArray();
+
+        PromotionResult result = transactionTemplate.execute(status -> {
+            Map<String, Long> counts = new HashMap<>();
+            jdbcTemplate.query("SELECT class_name, COUNT(*) FROM students WHERE class_name IN (" + placeholders
+                    + ") GROUP BY class_name", rs -> {
+                counts.put(rs.getString(1), rs.getLong(2));
+            }, fromClasses);
+
+            PromotionResult outcome = new PromotionResult();
+            outcome.setDryRun(request.isDryRun());
+            mapping.forEach((from, to) ->
+                    outcome.getClasses().add(new ClassMove(from, to, counts.getOrDefault(from, 0L))));
+            if (request.isDryRun()) {
+                status.setRollbackOnly();
+                return outcome;
+            }
+
+            StringBuilder sql = new StringBuilder("UPDATE students SET class_name = CASE class_name");
+            List<Object> args = new ArrayList<>(mapping.size() * 3);
+            mapping.forEach((from, to) -> {
+                sql.append(" WHEN ? THEN ?");
+                args.add(from);
+                args.add(to);
+            });
+            sql.append(" END");
+            if (request.isClearSections()) {
+                sql.append(", section = NULL");
+            }
+            sql.append(" WHERE class_name IN (").append(placeholders).append(")");
+            args.addAll(Arrays.asList(fromClasses));
+            outcome.setStudentsUpdated(jdbcTemplate.update(sql.toString(), args.toArray()));
+
+            // Class aggregates are keyed by class name; drop both sides once this commits
+            mapping.forEach((from, to) -> {
+                analyticsService.invalidateClass(from);
+                analyticsService.invalidateClass(to);
+            });
+            return outcome;
+        });
+
+        if (!request.isDryRun() && result.getStudentsUpdated() > 0) {
+            // Cached cards and the search index carry the class name
+            lookupCache.clear();
+            searchIndex.invalidate();
+        }
+        return result;
+    }
+
+    private static Map<String, String> validate(Map<String, String> classes) {
+        if (classes == null || classes.isEmpty()) {
+            throw new IllegalArgumentException("At least one class mapping is required");
+        }
+        Map<String, String> mapping = new LinkedHashMap<>();
+        classes.forEach((from, to) -> {
+            if (from == null || from.isBlank() || to == null || to.isBlank()) {
+                throw new IllegalArgumentException("Class mappings need both a current and a next class");
+            }
+            mapping.put(from.trim(), to.trim());
+        });
+        return mapping;
+    }
+}
@@ -0,0 +1,153 @@
+package com.school.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.model.Announcement;
+import com.school.model.Teacher;
+import com.school.repository.AnnouncementRepository;
+import com.school.repository.TeacherRepository;
+import com.school.service.ContentVersions.Collection;
+import com.school.service.ContentVersions.Version;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+// Immutable, pre-encoded JSON (plain and gzip) of the public announcement and teacher lists,
+// including per-category and per-section views. Reads copy bytes; writes rebuild and swap the
+// whole snapshot, so readers never see a half-updated view.
+@Service
+@RequiredArgsConstructor
+public class PublicSnapshotService {
+
+    public record Snapshot(byte[] json, byte[] gzip, Version version) {
+    }
+
+    private record View(Snapshot all, Map<String, Snapshot> byKey, Snapshot empty) {
+        Snapshot get(String key) {
+            return key == null ? all : byKey.getOrDefault(key, empty);
+        }
+    }
+
+    private final AnnouncementRepository announcementRepository;
+    private final TeacherRepository teacherRepository;
+    private final ContentVersions contentVersions;
+    private final ObjectMapper objectMapper;
+
+    private volatile View announcementView;
+    private volatile View teacherView;
+
+    public ResponseEntity<byte[]> announcements(String category, WebRequest request) {
+        View view = announcementView;
+        if (view == null) {
+            view = refreshAnnouncements(false);
+        }
+        return serve(view.get(category), request);
+    }
+
+    public ResponseEntity<byte[]> teachers(String section, WebRequest request) {
+        View view = teacherView;
+        if (view == null) {
+            view = refreshTeachers(false);
+        }
+        return serve(view.get(section), request);
+    }
+
+    // Call after every announcement write
+    public void announcementsChanged() {
+        refreshAnnouncements(true);
+    }
+
+    // Call after every teacher write
+    public void teachersChanged() {
+        refreshTeachers(true);
+    }
+
+    private synchronized View refreshAnnouncements(boolean changed) {
+        if (!changed && announcementView != null) {
+            return announcementView;
+        }
+        Version version = changed
+                ? contentVersions.bump(Collection.ANNOUNCEMENTS)
+                : contentVersions.current(Collection.ANNOUNCEMENTS);
+        List<Announcement> all = announcementRepository.findAllByOrderByCreatedAtDesc();
+        announcementView = build(all, Announcement::getCategory, version);
+        return announcementView;
+    }
+
+    private synchronized View refreshTeachers(boolean changed) {
+        if (!changed && teacherView != null) {
+            return teacherView;
+        }
+        Version version = changed
+                ? contentVersions.bump(Collection.TEACHERS)
+                : contentVersions.current(Collection.TEACHERS);
+        List<Teacher> all = teacherRepository.findAllByOrderByNameAsc();
+        teacherView = build(all, Teacher::getSection, version);
+        return teacherView;
+    }
+
+    private <T> View build(List<T> all, Function<T, String> keyOf, Version version) {
+        Map<String, List<T>> grouped = new LinkedHashMap<>();
+        for (T item : all) {
+            String key = keyOf.apply(item);
+            if (key != null) {
+                grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+            }
+        }
+        Map<String, Snapshot> byKey = new HashMap<>();
+        grouped.forEach((key, items) -> byKey.put(key, encode(items, version)));
+        return new View(encode(all, version), Map.copyOf(byKey), encode(List.of(), version));
+    }
+
+    private Snapshot encode(List<?> items, Version version) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(json);
+            }
+            return new Snapshot(json, buffer.toByteArray(), version);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode snapshot", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // gzip and identity bodies are different representations, so each gets its own strong ETag
+    private ResponseEntity<byte[]> serve(Snapshot snapshot, WebRequest request) {
+        Version version = snapshot.version();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? version.gzipEtag() : version.etag();
+        if (ContentVersions.isNotModified(request, etag, version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .lastModified(version.lastModified())
+                    .cacheControl(contentVersions.cacheControl())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .lastModified(version.lastModified())
+                .cacheControl(contentVersions.cacheControl())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? snapshot.gzip() : snapshot.json());
+    }
+}
@@ -0,0 +1,483 @@
+package com.school.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.dto.ResultCard;
+import com.school.dto.ResultCardRow;
+import com.school.repository.ResultRepository;
+import com.school.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Published result cards, compiled into one read-only file per version and served from a memory
+// mapping. Publishing an exam rebuilds the file with every student's full card, the same card the
+// database lookup returns, so a live snapshot answers lookups with no database connection and no
+// per-student heap. The file is reopened on startup, so there is nothing to warm.
+//
+// Writes after publishing mark the student's card changed: their lookups go back to the database
+// and status() reports the snapshot as stale until the next publish.
+//
+// File layout (big-endian):
+//   header   magic, format, version, created, student count, slot count, slot table offset, manifest length
+//   manifest JSON list of published exams
+//   records  [key length][key "roll|yyyy-mm-dd"][json length][ResultCard JSON], one per student
+//   slots    open-addressing table of (key hash, record offset); offset 0 marks an empty slot
+@Slf4j
+@Service
+public class PublishedResultsStore {
+
+    public record Exam(String examType, String academicYear) {
+    }
+
+    private static final int MAGIC = 0x53505253; // "SPRS"
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 48;
+    private static final int SLOT_BYTES = 16;
+    private static final String CURRENT = "CURRENT";
+    private static final TypeReference<List<Exam>> EXAM_LIST = new TypeReference<>() {
+    };
+
+    // One mapped version. Reads use absolute gets only, so the buffer is shared by all threads.
+    public static final class Snapshot {
+        private final String fileName;
+        private final MappedByteBuffer buffer;
+        private final long version;
+        private final long createdAt;
+        private final int students;
+        private final int slotMask;
+        private final int slotsOffset;
+        private final List<Exam> exams;
+        private final Changes changes;
+
+        private Snapshot(String fileName, MappedByteBuffer buffer, List<Exam> exams, Changes changes) {
+            this.fileName = fileName;
+            this.buffer = buffer;
+            this.version = buffer.getLong(8);
+            this.createdAt = buffer.getLong(16);
+            this.students = buffer.getInt(24);
+            this.slotMask = buffer.getInt(28) - 1;
+            this.slotsOffset = (int) buffer.getLong(32);
+            this.exams = exams;
+            this.changes = changes;
+        }
+
+        // Returns the card JSON, or null when no such student was published
+        public byte[] find(String rollNumber, LocalDate dateOfBirth) {
+            byte[] key = key(rollNumber, dateOfBirth);
+            long hash = hash(key);
+            int slot = (int) hash & slotMask;
+            while (true) {
+                int at = slotsOffset + slot * SLOT_BYTES;
+                long offset = buffer.getLong(at + 8);
+                if (offset == 0) {
+                    return null;
+                }
+                if (buffer.getLong(at) == hash && keyEquals((int) offset, key)) {
+                    int jsonAt = (int) offset + 4 + key.length;
+                    byte[] json = new byte[buffer.getInt(jsonAt)];
+                    buffer.get(jsonAt + 4, json);
+                    return json;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+        }
+
+        private boolean keyEquals(int offset, byte[] key) {
+            if (buffer.getInt(offset) != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (buffer.get(offset + 4 + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public List<Exam> exams() {
+            return exams;
+        }
+    }
+
+    private final StudentRepository studentRepository;
+    private final ResultRepository resultRepository;
+    private final ObjectMapper objectMapper;
+    private final Path dir;
+    private final int chunkSize;
+    private volatile Snapshot current;
+    // Changes made while publish() builds the next version, which may already have read the old rows
+    private volatile Changes building;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public PublishedResultsStore(StudentRepository studentRepository, ResultRepository resultRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${results.published.dir:./data/published}") String dir,
+                                 @Value("${results.published.chunk-size:500}") int chunkSize) throws IOException {
+        this.studentRepository = studentRepository;
+        this.resultRepository = resultRepository;
+        this.objectMapper = objectMapper;
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        Files.createDirectories(this.dir);
+        this.current = loadCurrent();
+    }
+
+    // The live snapshot, or null when nothing is published and lookups go to the database
+    public Snapshot active() {
+        return current;
+    }
+
+    // Returns the published card JSON, or null when the caller should use the database instead:
+    // the student was added after publishing or their card has changed since
+    public byte[] find(Snapshot snapshot, String rollNumber, LocalDate dateOfBirth) {
+        if (snapshot.changes.contains(rollNumber, dateOfBirth)) {
+            bypassed.increment();
+            return null;
+        }
+        byte[] json = snapshot.find(rollNumber, dateOfBirth);
+        (json != null ? hits : misses).increment();
+        return json;
+    }
+
+    // Called on every write that changes a student's card
+    public void changed(String rollNumber, LocalDate dateOfBirth) {
+        Changes pending = building;
+        if (pending != null) {
+            pending.add(rollNumber, dateOfBirth);
+        }
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.changes.add(rollNumber, dateOfBirth)) {
+            log.warn("Published results version {} are stale; republish to include the changes", snapshot.version);
+        }
+    }
+
+    // Called on writes that may change any card, such as class promotion
+    public void changedAll() {
+        Changes pending = building;
+        if (pending != null) {
+            pending.addAll();
+        }
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.changes.addAll()) {
+            log.warn("Published results version {} are stale; lookups use the database until the next publish",
+                    snapshot.version);
+        }
+    }
+
+    // Adds the exam to the published set and swaps in a freshly built snapshot
+    public synchronized Map<String, Object> publish(String examType, String academicYear) throws IOException {
+        if (isBlank(examType) || isBlank(academicYear)) {
+            throw new IllegalArgumentException("examType and academicYear are required");
+        }
+        Snapshot previous = current;
+        Set<Exam> exams = new LinkedHashSet<>(previous != null ? previous.exams : List.of());
+        exams.add(new Exam(examType, academicYear));
+        long version = previous != null ? previous.version + 1 : 1;
+
+        String fileName = "results-v" + version + ".bin";
+        Changes changes = new Changes();
+        building = changes;
+        Path temp = Files.createTempFile(dir, "publish-", ".tmp");
+        try {
+            write(temp, version, new ArrayList<>(exams));
+            Files.move(temp, dir.resolve(fileName), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            building = null;
+            Files.deleteIfExists(temp);
+        }
+        Snapshot next = open(fileName, changes);
+        pointTo(fileName);
+        // Readers holding the old snapshot finish on its mapping; the file goes once nothing points at it
+        current = next;
+        deleteOtherVersions(fileName);
+        log.info("Published results version {} ({} students, exams {})", version, next.students, next.exams);
+        return describe(next);
+    }
+
+    // Withdraws every published exam; lookups go back to the live database path
+    public synchronized void unpublish() throws IOException {
+        Files.deleteIfExists(dir.resolve(CURRENT));
+        current = null;
+        deleteOtherVersions(null);
+    }
+
+    public Map<String, Object> status() {
+        Snapshot snapshot = current;
+        return snapshot != null ? describe(snapshot) : Map.of("published", false);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>(status());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("bypassed", bypassed.sum());
+        return stats;
+    }
+
+    private void write(Path file, long version, List<Exam> exams) throws IOException {
+        byte[] manifest = objectMapper.writeValueAsBytes(exams);
+        LongList hashes = new LongList();
+        LongList offsets = new LongList();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            Output out = new Output(channel, HEADER_BYTES);
+            out.bytes(manifest);
+
+            long after = 0;
+            while (true) {
+                List<Long> ids = studentRepository.findIdsAfter(after, Limit.of(chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                after = ids.get(ids.size() - 1);
+                List<ResultCardRow> rows = resultRepository.findCardRowsForStudents(ids);
+                for (List<ResultCardRow> studentRows : ResultCard.groupByStudent(rows)) {
+                    ResultCard card = ResultCard.of(studentRows);
+                    byte[] key = key(card.getStudent().getRollNumber(), card.getStudent().getDateOfBirth());
+                    hashes.add(hash(key));
+                    offsets.add(out.position());
+                    out.putInt(key.length);
+                    out.bytes(key);
+                    byte[] json = objectMapper.writeValueAsBytes(card);
+                    out.putInt(json.length);
+                    out.bytes(json);
+                }
+            }
+
+            // Load factor at most 0.5 keeps probe chains short
+            int slotCount = Integer.highestOneBit(Math.max(2, hashes.size * 2) - 1) << 1;
+            long slotsOffset = out.position();
+            if (slotsOffset + (long) slotCount * SLOT_BYTES > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Published results would exceed 2 GB");
+            }
+            long[] table = new long[slotCount * 2];
+            for (int i = 0; i < hashes.size; i++) {
+                int slot = (int) hashes.values[i] & (slotCount - 1);
+                while (table[slot * 2 + 1] != 0) {
+                    slot = (slot + 1) & (slotCount - 1);
+                }
+                table[slot * 2] = hashes.values[i];
+                table[slot * 2 + 1] = offsets.values[i];
+            }
+            for (long value : table) {
+                out.putLong(value);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(MAGIC).putInt(FORMAT).putLong(version).putLong(System.currentTimeMillis())
+                    .putInt(hashes.size).putInt(slotCount).putLong(slotsOffset).putInt(manifest.length);
+            header.clear();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    private Snapshot loadCurrent() {
+        Path pointer = dir.resolve(CURRENT);
+        if (!Files.exists(pointer)) {
+            return null;
+        }
+        try {
+            Snapshot snapshot = open(Files.readString(pointer).trim(), new Changes());
+            log.info("Loaded published results version {} ({} students)", snapshot.version, snapshot.students);
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable published results, lookups will use the database", e);
+            return null;
+        }
+    }
+
+    private Snapshot open(String fileName, Changes changes) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(dir.resolve(fileName), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Bad published results file size: " + fileName);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+            throw new IOException("Not a published results file: " + fileName);
+        }
+        byte[] manifest = new byte[buffer.getInt(40)];
+        buffer.get(HEADER_BYTES, manifest);
+        return new Snapshot(fileName, buffer, List.copyOf(objectMapper.readValue(manifest, EXAM_LIST)), changes);
+    }
+
+    private void pointTo(String fileName) throws IOException {
+        Path temp = Files.createTempFile(dir, "current-", ".tmp");
+        try {
+            Files.writeString(temp, fileName);
+            Files.move(temp, dir.resolve(CURRENT), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Unlinking a mapped file is safe on Linux; elsewhere a failed delete is retried on the next publish
+    private void deleteOtherVersions(String keep) {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> p.getFileName().toString().matches("results-v\\d+\\.bin"))
+                    .filter(p -> !p.getFileName().toString().equals(keep))
+                    .forEach(p -> {
+                        try {
+                            Files.deleteIfExists(p);
+                        } catch (IOException e) {
+                            log.debug("Could not delete old published results {}", p, e);
+                        }
+                    });
+        } catch (IOException e) {
+            log.debug("Could not list published results directory", e);
+        }
+    }
+
+    private Map<String, Object> describe(Snapshot snapshot) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("published", true);
+        info.put("version", snapshot.version);
+        info.put("file", snapshot.fileName);
+        info.put("createdAt", snapshot.createdAt);
+        info.put("students", snapshot.students);
+        info.put("bytes", snapshot.buffer.capacity());
+        info.put("exams", snapshot.exams);
+        info.put("stale", snapshot.changes.any());
+        info.put("changedStudents", snapshot.changes.keys.size());
+        return info;
+    }
+
+    private static byte[] key(String rollNumber, LocalDate dateOfBirth) {
+        return (rollNumber + "|" + dateOfBirth).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 64-bit FNV-1a with a final mix, so the low bits used for the slot index are well spread
+    private static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    // Students whose cards changed after a snapshot was built; their lookups skip the snapshot
+    private static final class Changes {
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+        private volatile boolean all;
+
+        // True when this is the first change
+        boolean add(String rollNumber, LocalDate dateOfBirth) {
+            boolean first = !any();
+            return keys.add(rollNumber + "|" + dateOfBirth) && first;
+        }
+
+        boolean addAll() {
+            boolean first = !any();
+            all = true;
+            return first;
+        }
+
+        boolean contains(String rollNumber, LocalDate dateOfBirth) {
+            return all || (!keys.isEmpty() && keys.contains(rollNumber + "|" + dateOfBirth));
+        }
+
+        boolean any() {
+            return all || !keys.isEmpty();
+        }
+    }
+
+    private static final class LongList {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    // Buffered sequential writer that tracks the file position
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.BIG_ENDIAN);
+        private long position;
+
+        Output(FileChannel channel, long start) throws IOException {
+            this.channel = channel;
+            this.position = start;
+            channel.position(start);
+        }
+
+        long position() {
+            return position;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+            position += 8;
+        }
+
+        void bytes(byte[] data) throws IOException {
+            if (data.length > buffer.capacity()) {
+                flush();
+                ByteBuffer wrapped = ByteBuffer.wrap(data);
+                while (wrapped.hasRemaining()) {
+                    channel.write(wrapped);
+                }
+            } else {
+                ensure(data.length);
+                buffer.put(data);
+            }
+            position += data.length;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.school.service;
+
+import com.school.dto.ResultCard;
+import com.school.dto.ResultCardRow;
+import com.school.repository.ResultRepository;
+import com.school.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Printable HTML report cards for a whole class, streamed as one ZIP. Students are read in
+// keyset chunks with one id query and one card query per chunk; cards are rendered on a shared,
+// bounded pool while the request thread writes finished ones in order. At most a chunk of rows
+// plus a small window of rendered cards is held in memory, whatever the class size.
+@Service
+public class ReportCardService {
+
+    private record Rendered(String fileName, String label, byte[] html) {
+    }
+
+    private static final String SCHOOL_NAME = "S P Anglo Academy";
+    private static final double PASS_PERCENTAGE = 33;
+
+    private final StudentRepository studentRepository;
+    private final ResultRepository resultRepository;
+    private final ExecutorService renderPool;
+    private final int chunkSize;
+    private final int window;
+
+    public ReportCardService(StudentRepository studentRepository, ResultRepository resultRepository,
+                             @Value("${report-cards.threads:0}") int threads,
+                             @Value("${report-cards.chunk-size:200}") int chunkSize) {
+        this.studentRepository = studentRepository;
+        this.resultRepository = resultRepository;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "report-card-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.chunkSize = chunkSize;
+        this.window = poolSize * 4;
+    }
+
+    // Writes the ZIP and returns the number of report cards in it
+    public int writeZip(String className, String section, String examType, String academicYear,
+                        OutputStream out) throws IOException {
+        if (isBlank(className) || isBlank(examType) || isBlank(academicYear)) {
+            throw new IllegalArgumentException("className, examType and academicYear are required");
+        }
+        String sectionFilter = isBlank(section) ? null : section;
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(Deflater.BEST_SPEED);
+        Deque<Future<Rendered>> pending = new ArrayDeque<>();
+        List<String[]> index = new ArrayList<>();
+        try {
+            long after = 0;
+            while (true) {
+                List<Long> ids = sectionFilter == null
+                        ? studentRepository.findIdsForClass(className, after, Limit.of(chunkSize))
+                        : studentRepository.findIdsForClassSection(className, sectionFilter, after, Limit.of(chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                after = ids.get(ids.size() - 1);
+                List<ResultCardRow> rows = resultRepository.findExamCardRows(ids, examType, academicYear);
+                for (List<ResultCardRow> studentRows : ResultCard.groupByStudent(rows)) {
+                    if (pending.size() >= window) {
+                        write(zip, pending.removeFirst(), index);
+                    }
+                    pending.addLast(renderPool.submit(() -> render(studentRows, examType, academicYear)));
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(zip, pending.removeFirst(), index);
+            }
+            writeIndex(zip, className, sectionFilter, examType, academicYear, index);
+            zip.finish();
+        } finally {
+            pending.forEach(f -> f.cancel(true));
+        }
+        return index.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    private static void write(ZipOutputStream zip, Future<Rendered> future, List<String[]> index) throws IOException {
+        Rendered card;
+        try {
+            card = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering report cards", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to render report card", e.getCause());
+        }
+        zip.putNextEntry(new ZipEntry(card.fileName()));
+        zip.write(card.html());
+        zip.closeEntry();
+        index.add(new String[]{card.fileName(), card.label()});
+    }
+
+    private static Rendered render(List<ResultCardRow> rows, String examType, String academicYear) {
+        ResultCard card = ResultCard.of(rows);
+        ResultCard.StudentHeader s = card.getStudent();
+        ResultCard.ExamSummary exam = card.getExams().isEmpty() ? null : card.getExams().get(0);
+
+        StringBuilder html = new StringBuilder(4096);
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Report Card - ")
+                .append(escape(s.getRollNumber())).append("</title><style>")
+                .append("body{font-family:Georgia,serif;margin:24px;color:#222}")
+                .append(".card{border:3px double #1a237e;padding:24px;max-width:760px;margin:auto}")
+                .append("h1{color:#1a237e;text-align:center;margin:0}h2{text-align:center;font-weight:normal;margin:4px 0 16px}")
+                .append("table{width:100%;border-collapse:collapse;margin-top:12px}")
+                .append("th,td{border:1px solid #999;padding:6px 8px;text-align:left}th{background:#e8eaff}")
+                .append(".info td{border:none;padding:2px 8px}.total td{font-weight:bold;background:#f3f4ff}")
+                .append("@media print{body{margin:0}.card{border-width:2px}}")
+                .append("</style></head><body><div class=\"card\">")
+                .append("<h1>").append(SCHOOL_NAME).append("</h1>")
+                .append("<h2>Report Card &mdash; ").append(escape(examType)).append(' ')
+                .append(escape(academicYear)).append("</h2>")
+                .append("<table class=\"info\">")
+                .append(infoRow("Name", s.getFirstName() + " " + s.getLastName(), "Roll No.", s.getRollNumber()))
+                .append(infoRow("Class", s.getClassName() + (s.getSection() != null ? " - " + s.getSection() : ""),
+                        "Date of Birth", s.getDateOfBirth() != null ? s.getDateOfBirth().toString() : "-"))
+                .append(infoRow("Guardian", s.getGuardianName() != null ? s.getGuardianName() : "-", "", ""))
+                .append("</table>");
+
+        if (card.getResults().isEmpty()) {
+            html.append("<p><em>No results recorded for this exam.</em></p>");
+        } else {
+            html.append("<table><tr><th>Subject</th><th>Marks Obtained</th><th>Total Marks</th><th>Grade</th>")
+                    .append("<th>Remarks</th></tr>");
+            for (ResultCard.SubjectRow r : card.getResults()) {
+                html.append("<tr><td>").append(escape(r.getSubject())).append("</td><td>")
+                        .append(format(r.getMarksObtained())).append("</td><td>").append(format(r.getTotalMarks()))
+                        .append("</td><td>").append(escape(r.getGrade())).append("</td><td>")
+                        .append(escape(r.getRemarks())).append("</td></tr>");
+            }
+            html.append("<tr class=\"total\"><td>Total</td><td>").append(format(exam.getTotalObtained()))
+                    .append("</td><td>").append(format(exam.getTotalMarks())).append("</td><td>")
+                    .append(exam.getOverallGrade()).append("</td><td>").append(exam.getPercentage()).append("% &mdash; ")
+                    .append(exam.getPercentage() >= PASS_PERCENTAGE ? "PASS" : "FAIL").append("</td></tr></table>");
+        }
+        html.append("</div></body></html>");
+
+        String fileName = safeFileName(s.getRollNumber() + "-" + s.getFirstName() + "-" + s.getLastName()) + ".html";
+        String label = s.getRollNumber() + " " + s.getFirstName() + " " + s.getLastName();
+        return new Rendered(fileName, label, html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeIndex(ZipOutputStream zip, String className, String section, String examType,
+                                   String academicYear, List<String[]> index) throws IOException {
+        StringBuilder html = new StringBuilder(256 + index.size() * 96);
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Report Cards</title></head><body>")
+                .append("<h1>").append(SCHOOL_NAME).append("</h1><h2>Class ").append(escape(className))
+                .append(section != null ? " - " + escape(section) : "").append(", ").append(escape(examType))
+                .append(' ').append(escape(academicYear)).append("</h2><ol>");
+        for (String[] entry : index) {
+            html.append("<li><a href=\"").append(escape(entry[0])).append("\">").append(escape(entry[1]))
+                    .append("</a></li>");
+        }
+        html.append("</ol></body></html>");
+        zip.putNextEntry(new ZipEntry("index.html"));
+        zip.write(html.toString().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String infoRow(String label1, String value1, String label2, String value2) {
+        return "<tr><td><strong>" + label1 + "</strong></td><td>" + escape(value1) + "</td><td><strong>"
+                + label2 + "</strong></td><td>" + escape(value2) + "</td></tr>";
+    }
+
+    private static String format(Double value) {
+        if (value == null) {
+            return "-";
+        }
+        return value == Math.rint(value) ? String.valueOf(value.longValue()) : String.valueOf(value);
+    }
+
+    private static String safeFileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+
+    private static String escape(String s) {
+        if (s == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(s.length() + 16);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -0,0 +1,139 @@
+package com.school.service;
+
+import com.school.dto.BulkSaveResponse;
+import com.school.dto.BulkSaveResponse.RowError;
+import com.school.dto.ClassResultsRequest;
+import com.school.dto.ClassResultsRequest.StudentMarks;
+import com.school.dto.ClassResultsRequest.SubjectMarks;
+import com.school.model.Student;
+import com.school.repository.ResultRepository;
+import com.school.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ResultBatchService {
+
+    private static final String INSERT_RESULT =
+            "INSERT INTO results (student_id, subject, exam_type, marks_obtained, total_marks, grade, academic_year, remarks) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private record ResultRow(Long studentId, String subject, double marksObtained, double totalMarks,
+                             String grade, String remarks) {
+    }
+
+    private final StudentRepository studentRepository;
+    private final ResultRepository resultRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ResultLookupCache lookupCache;
+    private final ClassAnalyticsService analyticsService;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    // Replaces one exam's results for a whole class/section: one set-based delete plus batched inserts.
+    // Invalid student rows are reported and skipped; the rest of the class is still saved.
+    @Transactional
+    public BulkSaveResponse saveClassResults(ClassResultsRequest request) {
+        if (isBlank(request.getClassName()) || isBlank(request.getExamType()) || isBlank(request.getAcademicYear())) {
+            throw new IllegalArgumentException("className, examType and academicYear are required");
+        }
+        List<StudentMarks> rows = request.getStudents() != null ? request.getStudents() : List.of();
+
+        List<Student> classStudents = isBlank(request.getSection())
+                ? studentRepository.findByClassName(request.getClassName())
+                : studentRepository.findByClassNameAndSection(request.getClassName(), request.getSection());
+        Map<Long, Student> studentsById = classStudents.stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+
+        BulkSaveResponse response = new BulkSaveResponse();
+        List<Student> accepted = new ArrayList<>();
+        List<ResultRow> inserts = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            StudentMarks row = rows.get(i);
+            Student student = row.getStudentId() != null ? studentsById.get(row.getStudentId()) : null;
+            if (student == null) {
+                response.getErrors().add(new RowError(i, "studentId", "Student not found in this class/section"));
+                continue;
+            }
+            if (!seen.add(student.getId())) {
+                response.getErrors().add(new RowError(i, "studentId", "Duplicate student in request"));
+                continue;
+            }
+            List<ResultRow> studentRows = validateSubjects(i, student, row.getResults(), response.getErrors());
+            if (studentRows != null) {
+                accepted.add(student);
+                inserts.addAll(studentRows);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<Long> studentIds = accepted.stream().map(Student::getId).toList();
+            resultRepository.deleteByStudentIdInAndExamTypeAndAcademicYear(
+                    studentIds, request.getExamType(), request.getAcademicYear());
+            jdbcTemplate.batchUpdate(INSERT_RESULT, inserts, batchSize, (ps, r) -> {
+                ps.setLong(1, r.studentId());
+                ps.setString(2, r.subject());
+                ps.setString(3, request.getExamType());
+                ps.setDouble(4, r.marksObtained());
+                ps.setDouble(5, r.totalMarks());
+                ps.setString(6, r.grade());
+                ps.setString(7, request.getAcademicYear());
+                ps.setString(8, r.remarks());
+            });
+            accepted.forEach(lookupCache::evict);
+            analyticsService.invalidateClass(request.getClassName());
+        }
+
+        response.setRowsSaved(accepted.size());
+        response.setRecordsSaved(inserts.size());
+        return response;
+    }
+
+    // Returns the rows to insert, or null (with errors recorded) if any subject is invalid
+    private List<ResultRow> validateSubjects(int index, Student student, List<SubjectMarks> subjects,
+                                             List<RowError> errors) {
+        if (subjects == null || subjects.isEmpty()) {
+            errors.add(new RowError(index, "results", "No subject results given"));
+            return null;
+        }
+        List<ResultRow> result = new ArrayList<>(subjects.size());
+        Set<String> seenSubjects = new HashSet<>();
+        int errorCount = errors.size();
+        for (SubjectMarks s : subjects) {
+            if (isBlank(s.getSubject())) {
+                errors.add(new RowError(index, "subject", "Subject is required"));
+                continue;
+            }
+            if (!seenSubjects.add(s.getSubject())) {
+                errors.add(new RowError(index, "subject", "Duplicate subject: " + s.getSubject()));
+                continue;
+            }
+            if (s.getMarksObtained() == null || s.getTotalMarks() == null || s.getTotalMarks() <= 0) {
+                errors.add(new RowError(index, s.getSubject(), "Marks obtained and a positive total are required"));
+                continue;
+            }
+            if (s.getMarksObtained() < 0 || s.getMarksObtained() > s.getTotalMarks()) {
+                errors.add(new RowError(index, s.getSubject(), "Marks must be between 0 and the total"));
+                continue;
+            }
+            result.add(new ResultRow(student.getId(), s.getSubject(), s.getMarksObtained(), s.getTotalMarks(),
+                    Grades.calculateGrade(s.getMarksObtained(), s.getTotalMarks()), s.getRemarks()));
+        }
+        return errors.size() == errorCount ? result : null;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
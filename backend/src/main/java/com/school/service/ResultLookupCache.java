@@ -0,0 +1,161 @@
+package com.school.service;
+
+import com.school.dto.ResultCard;
+import com.school.model.Student;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded LRU cache of assembled result cards for the public lookup, keyed by (rollNumber, dob).
+// "Not found" answers are cached too, with a much shorter TTL. Every write that evicts a card here
+// also marks it changed in the published snapshot, so both lookup layers are invalidated together.
+@Component
+public class ResultLookupCache {
+
+    public record Entry(ResultCard card, long expiresAt) {
+        public boolean isFound() {
+            return card != null;
+        }
+    }
+
+    private final PublishedResultsStore publishedResults;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LinkedHashMap<String, Entry> entries;
+
+    // Bumped on every invalidation so a lookup racing with a write never stores a stale card
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ResultLookupCache(PublishedResultsStore publishedResults,
+                             @Value("${results.lookup-cache.max-size:20000}") int maxSize,
+                             @Value("${results.lookup-cache.ttl-seconds:600}") long ttlSeconds,
+                             @Value("${results.lookup-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.publishedResults = publishedResults;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.negativeTtlNanos = negativeTtlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResultLookupCache.Entry> eldest) {
+                if (size() > ResultLookupCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Returns the cached entry, or null on a miss
+    public Entry get(String rollNumber, LocalDate dateOfBirth) {
+        String key = key(rollNumber, dateOfBirth);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+                entries.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+        } else if (entry.isFound()) {
+            hits.increment();
+        } else {
+            negativeHits.increment();
+        }
+        return entry;
+    }
+
+    // Take a stamp before reading from the database and pass it to put()
+    public long stamp() {
+        return generation.get();
+    }
+
+    // Stores a card, or a "not found" marker when card is null
+    public void put(String rollNumber, LocalDate dateOfBirth, ResultCard card, long stamp) {
+        long ttl = card != null ? ttlNanos : negativeTtlNanos;
+        Entry entry = new Entry(card, System.nanoTime() + ttl);
+        synchronized (entries) {
+            if (generation.get() != stamp) {
+                return;
+            }
+            entries.put(key(rollNumber, dateOfBirth), entry);
+        }
+    }
+
+    public void evict(Student student) {
+        if (student != null) {
+            evict(student.getRollNumber(), student.getDateOfBirth());
+        }
+    }
+
+    public void evict(String rollNumber, LocalDate dateOfBirth) {
+        evictNow(rollNumber, dateOfBirth);
+        // Inside a transaction, evict again once the new rows are visible to other readers
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(rollNumber, dateOfBirth);
+                }
+            });
+        }
+    }
+
+    private void evictNow(String rollNumber, LocalDate dateOfBirth) {
+        publishedResults.changed(rollNumber, dateOfBirth);
+        synchronized (entries) {
+            generation.incrementAndGet();
+            if (entries.remove(key(rollNumber, dateOfBirth)) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        publishedResults.changedAll();
+        synchronized (entries) {
+            generation.incrementAndGet();
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.sum());
+        stats.put("negativeHits", negativeHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private static String key(String rollNumber, LocalDate dateOfBirth) {
+        return rollNumber + '|' + dateOfBirth;
+    }
+}
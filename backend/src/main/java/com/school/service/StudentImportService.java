@@ -0,0 +1,372 @@
+package com.school.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.dto.BulkSaveResponse;
+import com.school.dto.BulkSaveResponse.RowError;
+import com.school.model.Student;
+import com.school.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+// Bulk admission import from CSV (header row, same columns as the student export) or NDJSON.
+// The upload is parsed as a stream and saved in chunks: one roll-number query per chunk against
+// the database, then JDBC batch inserts, each chunk in its own transaction. Duplicates later in
+// the file are caught by the next chunk's query, so memory is one chunk whatever the file size.
+// Errors carry the line number of the offending row.
+@Service
+public class StudentImportService {
+
+    private static final String INSERT_STUDENT =
+            "INSERT INTO students (roll_number, first_name, last_name, date_of_birth, gender, email, phone, address, "
+            + "class_name, section, guardian_name, guardian_phone, admission_year) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] FIELDS = {
+        "rollNumber", "firstName", "lastName", "dateOfBirth", "gender", "email", "phone", "address",
+        "className", "section", "guardianName", "guardianPhone", "admissionYear"
+    };
+    private static final int MAX_LENGTH = 255;
+
+    private record Row(int line, Student student) {
+    }
+
+    private final StudentRepository studentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ResultLookupCache lookupCache;
+    private final StudentSearchIndex searchIndex;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public StudentImportService(StudentRepository studentRepository, JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                                ResultLookupCache lookupCache, StudentSearchIndex searchIndex,
+                                @Value("${students.import.chunk-size:500}") int chunkSize,
+                                @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                                @Value("${students.import.max-errors:1000}") int maxErrors) {
+        this.studentRepository = studentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.lookupCache = lookupCache;
+        this.searchIndex = searchIndex;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public BulkSaveResponse importStudents(ExportService.Format format, InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        BulkSaveResponse response = new BulkSaveResponse();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        try {
+            try {
+                if (format == ExportService.Format.CSV) {
+                    readCsv(reader, response, chunk);
+                } else {
+                    readNdjson(reader, response, chunk);
+                }
+            } catch (IllegalArgumentException e) {
+                // Malformed CSV; rows before it are still saved
+                error(response, 0, null, e.getMessage());
+            }
+            if (!chunk.isEmpty()) {
+                saveChunk(chunk, response);
+            }
+        } finally {
+            if (response.getRowsSaved() > 0) {
+                searchIndex.invalidate();
+            }
+        }
+        response.setRecordsSaved(response.getRowsSaved());
+        return response;
+    }
+
+    private void readCsv(BufferedReader reader, BulkSaveResponse response, List<Row> chunk) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            error(response, 1, null, "File is empty");
+            return;
+        }
+        // Column positions by name; unknown columns (such as the export's id) are ignored
+        int[] positions = new int[FIELDS.length];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim();
+            for (int f = 0; f < FIELDS.length; f++) {
+                if (FIELDS[f].equalsIgnoreCase(name)) {
+                    positions[f] = i;
+                }
+            }
+        }
+        boolean complete = true;
+        for (int f = 0; f < 4; f++) {
+            if (positions[f] < 0) {
+                error(response, 1, FIELDS[f], "Missing column: " + FIELDS[f]);
+                complete = false;
+            }
+        }
+        if (!complete) {
+            return;
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            String[] values = new String[FIELDS.length];
+            for (int f = 0; f < FIELDS.length; f++) {
+                values[f] = positions[f] >= 0 && positions[f] < record.size() ? record.get(positions[f]) : null;
+            }
+            accept(csv.recordLine(), values, response, chunk);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, BulkSaveResponse response, List<Row> chunk) throws IOException {
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                error(response, lineNumber, null, "Invalid JSON");
+                continue;
+            }
+            if (node == null || !node.isObject()) {
+                error(response, lineNumber, null, "Expected a JSON object");
+                continue;
+            }
+            String[] values = new String[FIELDS.length];
+            for (int f = 0; f < FIELDS.length; f++) {
+                JsonNode value = node.get(FIELDS[f]);
+                values[f] = value == null || value.isNull() ? null : value.asText();
+            }
+            accept(lineNumber, values, response, chunk);
+        }
+    }
+
+    // Validates one row and adds it to the chunk, saving the chunk when it is full
+    private void accept(int line, String[] values, BulkSaveResponse response, List<Row> chunk) {
+        for (int f = 0; f < values.length; f++) {
+            values[f] = values[f] == null || values[f].isBlank() ? null : values[f].trim();
+        }
+        boolean valid = true;
+        for (int f = 0; f < 4; f++) {
+            if (values[f] == null) {
+                error(response, line, FIELDS[f], FIELDS[f] + " is required");
+                valid = false;
+            }
+        }
+        for (int f = 0; f < values.length; f++) {
+            if (values[f] != null && values[f].length() > MAX_LENGTH) {
+                error(response, line, FIELDS[f], "Longer than " + MAX_LENGTH + " characters");
+                valid = false;
+            }
+        }
+        LocalDate dateOfBirth = null;
+        if (values[3] != null) {
+            try {
+                dateOfBirth = LocalDate.parse(values[3]);
+            } catch (DateTimeParseException e) {
+                error(response, line, "dateOfBirth", "Invalid date (use yyyy-mm-dd)");
+                valid = false;
+            }
+        }
+        Integer admissionYear = null;
+        if (values[12] != null) {
+            try {
+                admissionYear = Integer.valueOf(values[12]);
+            } catch (NumberFormatException e) {
+                error(response, line, "admissionYear", "Not a whole number");
+                valid = false;
+            }
+        }
+        if (!valid) {
+            return;
+        }
+
+        chunk.add(new Row(line, new Student(null, values[0], values[1], values[2], dateOfBirth, values[4],
+                values[5], values[6], values[7], values[8], values[9], values[10], values[11], admissionYear)));
+        if (chunk.size() >= chunkSize) {
+            saveChunk(chunk, response);
+        }
+    }
+
+    private void saveChunk(List<Row> chunk, BulkSaveResponse response) {
+        List<Row> unique = new ArrayList<>(chunk.size());
+        Set<String> rolls = new HashSet<>();
+        for (Row row : chunk) {
+            if (rolls.add(row.student().getRollNumber())) {
+                unique.add(row);
+            } else {
+                error(response, row.line(), "rollNumber", "Duplicate roll number in this file");
+            }
+        }
+        chunk.clear();
+
+        List<Row> inserts;
+        try {
+            inserts = transactionTemplate.execute(status -> {
+                // Also catches rows repeated from earlier chunks, which are already inserted
+                Set<String> existing = new HashSet<>(studentRepository.findExistingRollNumbers(rolls));
+                List<Row> accepted = new ArrayList<>(unique.size());
+                for (Row row : unique) {
+                    if (existing.contains(row.student().getRollNumber())) {
+                        error(response, row.line(), "rollNumber", "Roll number already exists");
+                    } else {
+                        accepted.add(row);
+                    }
+                }
+                jdbcTemplate.batchUpdate(INSERT_STUDENT, accepted, batchSize, (ps, row) -> {
+                    Student s = row.student();
+                    ps.setString(1, s.getRollNumber());
+                    ps.setString(2, s.getFirstName());
+                    ps.setString(3, s.getLastName());
+                    ps.setDate(4, Date.valueOf(s.getDateOfBirth()));
+                    ps.setString(5, s.getGender());
+                    ps.setString(6, s.getEmail());
+                    ps.setString(7, s.getPhone());
+                    ps.setString(8, s.getAddress());
+                    ps.setString(9, s.getClassName());
+                    ps.setString(10, s.getSection());
+                    ps.setString(11, s.getGuardianName());
+                    ps.setString(12, s.getGuardianPhone());
+                    if (s.getAdmissionYear() != null) {
+                        ps.setInt(13, s.getAdmissionYear());
+                    } else {
+                        ps.setNull(13, Types.INTEGER);
+                    }
+                });
+                return accepted;
+            });
+        } catch (DataAccessException e) {
+            // A concurrent insert of the same roll number; the whole chunk is rolled back
+            String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Row row : unique) {
+                error(response, row.line(), null, "Not saved, the database rejected this chunk: " + reason);
+            }
+            return;
+        }
+
+        // Committed: drop any cached "not found" for the new students
+        for (Row row : inserts) {
+            lookupCache.evict(row.student());
+        }
+        response.setRowsSaved(response.getRowsSaved() + inserts.size());
+    }
+
+    // Keeps the error list bounded for badly broken files
+    private void error(BulkSaveResponse response, int line, String field, String message) {
+        List<RowError> errors = response.getErrors();
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, field, message));
+        } else if (errors.size() == maxErrors) {
+            errors.add(new RowError(line, null, "Too many errors, the rest are not listed"));
+        }
+    }
+
+    // Minimal RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks
+    private static final class CsvReader {
+        private final Reader reader;
+        private int line = 1;
+        private int recordLine;
+        private int pushedBack = -2;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Line on which the last record returned by next() started
+        int recordLine() {
+            return recordLine;
+        }
+
+        List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        int nextChar = read();
+                        if (nextChar == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = nextChar;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int nextChar = read();
+                        if (nextChar != '\n') {
+                            unread(nextChar);
+                        }
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private void unread(int c) {
+            pushedBack = c;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.school.service;
+
+import com.school.dto.StudentSuggestion;
+import com.school.model.Student;
+import com.school.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Typeahead index over student first/last name, roll number and guardian name. Distinct words
+// are split into start-anchored trigrams ("$ra", "rah", "ahu", ...) whose postings are plain int
+// arrays of word ids; candidate words are verified once per query by prefix match or a small edit
+// distance, so "rahl" still finds "Rahul", and each matching word's own postings give the students.
+// Names repeat a lot across a school, so verification costs per distinct word, not per student.
+// Words with digits (roll numbers) only match by prefix. Built on first use and kept current by
+// StudentController writes.
+@Service
+@RequiredArgsConstructor
+public class StudentSearchIndex {
+
+    private static final int MAX_LIMIT = 50;
+
+    // Growable int list; removed slots stay in postings and are skipped until the next compaction
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    private final StudentRepository studentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Student> slots = new ArrayList<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<String> vocabulary = new ArrayList<>();
+    // Slots containing each word, by word id
+    private final List<Postings> students = new ArrayList<>();
+    // Word ids containing each gram
+    private final Map<String, Postings> grams = new HashMap<>();
+    private int removed;
+    private boolean loaded;
+
+    public List<StudentSuggestion> search(String query, int limit) {
+        String[] terms = words(query);
+        if (terms.length == 0) {
+            return List.of();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+            float[] scores = null;
+            for (String term : terms) {
+                float[] termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every query word has to match some word of the student
+                    for (int i = 0; i < scores.length; i++) {
+                        scores[i] = scores[i] > 0 && termScores[i] > 0 ? scores[i] + termScores[i] : 0;
+                    }
+                }
+            }
+
+            float[] totals = scores;
+            PriorityQueue<Integer> top = new PriorityQueue<>(max + 1, Comparator.comparingDouble(i -> totals[i]));
+            for (int slot = 0; slot < totals.length; slot++) {
+                if (totals[slot] > 0) {
+                    top.add(slot);
+                    if (top.size() > max) {
+                        top.poll();
+                    }
+                }
+            }
+            List<StudentSuggestion> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int slot = top.poll();
+                results.add(StudentSuggestion.of(slots.get(slot), totals[slot]));
+            }
+            Collections.reverse(results);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void upsert(Student student) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeSlot(student.getId());
+                addSlot(student);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeSlot(id);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drops the whole index; it is reloaded on the next search. Used after bulk student changes.
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("students", slotById.size());
+            stats.put("removedSlots", removed);
+            stats.put("words", vocabulary.size());
+            stats.put("grams", grams.size());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Per-slot score of one query word: 1 exact, 0.9 prefix, less for each edit; 0 for no match
+    private float[] scoreTerm(String term) {
+        float[] scores = new float[slots.size()];
+        int[] hits = new int[vocabulary.size()];
+        List<String> queryGrams = gramsOf(term);
+        // One edit can break up to three trigrams
+        int required = Math.max(1, queryGrams.size() - 3);
+        int maxEdits = hasDigit(term) ? 0 : term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+
+        for (String gram : queryGrams) {
+            Postings postings = grams.get(gram);
+            if (postings == null) {
+                continue;
+            }
+            for (int i = 0; i < postings.size; i++) {
+                int word = postings.ids[i];
+                if (++hits[word] != required) {
+                    continue;
+                }
+                float score = match(term, vocabulary.get(word), maxEdits);
+                if (score == 0) {
+                    continue;
+                }
+                Postings owners = students.get(word);
+                for (int j = 0; j < owners.size; j++) {
+                    int slot = owners.ids[j];
+                    if (slots.get(slot) != null && score > scores[slot]) {
+                        scores[slot] = score;
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static float match(String term, String word, int maxEdits) {
+        if (word.equals(term)) {
+            return 1f;
+        }
+        if (word.startsWith(term)) {
+            return 0.9f;
+        }
+        if (maxEdits == 0 || hasDigit(word)) {
+            return 0;
+        }
+        String prefix = word.length() > term.length() ? word.substring(0, term.length()) : word;
+        int edits = Math.min(editDistance(term, prefix, maxEdits), editDistance(term, word, maxEdits));
+        return edits <= maxEdits ? 0.7f - 0.15f * (edits - 1) : 0;
+    }
+
+    // Levenshtein distance, giving up early once it exceeds max
+    private static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                studentRepository.findAll().forEach(this::addSlot);
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addSlot(Student s) {
+        // Keep a detached copy so later changes to the entity cannot leak into the index
+        Student copy = new Student();
+        copy.setId(s.getId());
+        copy.setRollNumber(s.getRollNumber());
+        copy.setFirstName(s.getFirstName());
+        copy.setLastName(s.getLastName());
+        copy.setClassName(s.getClassName());
+        copy.setSection(s.getSection());
+        copy.setGuardianName(s.getGuardianName());
+
+        String[] words = words(String.join(" ", nullToEmpty(s.getFirstName()), nullToEmpty(s.getLastName()),
+                nullToEmpty(s.getRollNumber()), nullToEmpty(s.getGuardianName())));
+        int slot = slots.size();
+        slots.add(copy);
+        slotById.put(s.getId(), slot);
+        for (String word : new LinkedHashSet<>(Arrays.asList(words))) {
+            students.get(wordId(word)).add(slot);
+        }
+    }
+
+    private int wordId(String word) {
+        Integer id = wordIds.get(word);
+        if (id != null) {
+            return id;
+        }
+        int newId = vocabulary.size();
+        wordIds.put(word, newId);
+        vocabulary.add(word);
+        students.add(new Postings());
+        for (String gram : new HashSet<>(gramsOf(word))) {
+            grams.computeIfAbsent(gram, k -> new Postings()).add(newId);
+        }
+        return newId;
+    }
+
+    private void removeSlot(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot != null) {
+            slots.set(slot, null);
+            removed++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (removed > 1024 && removed > slotById.size()) {
+            List<Student> live = slots.stream().filter(Objects::nonNull).toList();
+            clear();
+            live.forEach(this::addSlot);
+        }
+    }
+
+    private void clear() {
+        slots.clear();
+        slotById.clear();
+        wordIds.clear();
+        vocabulary.clear();
+        students.clear();
+        grams.clear();
+        removed = 0;
+    }
+
+    private static List<String> gramsOf(String word) {
+        String padded = "$" + word;
+        List<String> result = new ArrayList<>(padded.length());
+        result.add(padded.substring(0, 2));
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(w -> !w.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static boolean hasDigit(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.isDigit(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
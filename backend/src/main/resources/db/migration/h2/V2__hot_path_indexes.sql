@@ -0,0 +1,22 @@
+-- Indexes for the hottest predicates. IF NOT EXISTS because earlier builds let
+-- ddl-auto=update create some of these from @Table(indexes).
+
+-- ResultRepository.findByStudentIdAndExamTypeAndAcademicYear / findByStudentId / FK lookups
+CREATE INDEX IF NOT EXISTS idx_results_student_exam_year ON results (student_id, exam_type, academic_year);
+
+-- Public lookup: StudentRepository.findByRollNumberAndDateOfBirth
+CREATE INDEX IF NOT EXISTS idx_students_roll_dob ON students (roll_number, date_of_birth);
+
+-- findByClassNameAndSection and keyset pages of students
+CREATE INDEX IF NOT EXISTS idx_students_class_section ON students (class_name, section, id);
+
+-- AnnouncementRepository.findAllByOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_announcements_created_at ON announcements (created_at);
+
+-- AnnouncementRepository.findByCategory and TeacherRepository.findBySection
+CREATE INDEX IF NOT EXISTS idx_announcements_category ON announcements (category);
+CREATE INDEX IF NOT EXISTS idx_teachers_section ON teachers (section);
+
+-- Keyset pages of results filtered by year/exam and subject
+CREATE INDEX IF NOT EXISTS idx_results_year_exam ON results (academic_year, exam_type, id);
+CREATE INDEX IF NOT EXISTS idx_results_subject ON results (subject, academic_year, exam_type, id);
@@ -0,0 +1,63 @@
+-- Indexes for the hottest predicates. MySQL has no CREATE INDEX IF NOT EXISTS, and
+-- earlier builds let ddl-auto=update create some of these from @Table(indexes), so each
+-- create is skipped when information_schema already lists an index of that name.
+
+-- ResultRepository.findByStudentIdAndExamTypeAndAcademicYear / findByStudentId / FK lookups
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_results_student_exam_year ON results (student_id, exam_type, academic_year)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'results' AND index_name = 'idx_results_student_exam_year');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Public lookup: StudentRepository.findByRollNumberAndDateOfBirth
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_students_roll_dob ON students (roll_number, date_of_birth)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'students' AND index_name = 'idx_students_roll_dob');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- findByClassNameAndSection and keyset pages of students
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_students_class_section ON students (class_name, section, id)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'students' AND index_name = 'idx_students_class_section');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- AnnouncementRepository.findAllByOrderByCreatedAtDesc
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_announcements_created_at ON announcements (created_at)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'announcements' AND index_name = 'idx_announcements_created_at');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- AnnouncementRepository.findByCategory and TeacherRepository.findBySection
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_announcements_category ON announcements (category)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'announcements' AND index_name = 'idx_announcements_category');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_teachers_section ON teachers (section)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'teachers' AND index_name = 'idx_teachers_section');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Keyset pages of results filtered by year/exam and subject
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_results_year_exam ON results (academic_year, exam_type, id)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'results' AND index_name = 'idx_results_year_exam');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_results_subject ON results (subject, academic_year, exam_type, id)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'results' AND index_name = 'idx_results_subject');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,72 @@
+-- Baseline schema, matching what ddl-auto=update used to create.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    full_name VARCHAR(255),
+    role VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE students (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    roll_number VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    date_of_birth DATE NOT NULL,
+    gender VARCHAR(255),
+    email VARCHAR(255),
+    phone VARCHAR(255),
+    address VARCHAR(255),
+    class_name VARCHAR(255),
+    section VARCHAR(255),
+    guardian_name VARCHAR(255),
+    guardian_phone VARCHAR(255),
+    admission_year INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_students_roll_number UNIQUE (roll_number)
+);
+
+CREATE TABLE results (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    student_id BIGINT NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    exam_type VARCHAR(255) NOT NULL,
+    marks_obtained DOUBLE PRECISION NOT NULL,
+    total_marks DOUBLE PRECISION NOT NULL,
+    grade VARCHAR(255),
+    academic_year VARCHAR(255),
+    semester VARCHAR(255),
+    remarks VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_results_student FOREIGN KEY (student_id) REFERENCES students (id)
+);
+
+CREATE TABLE teachers (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    designation VARCHAR(255),
+    subject VARCHAR(255),
+    qualification VARCHAR(255),
+    phone VARCHAR(255),
+    email VARCHAR(255),
+    photo_url VARCHAR(255),
+    section VARCHAR(255),
+    joining_year INTEGER,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE announcements (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title VARCHAR(255) NOT NULL,
+    content TEXT NOT NULL,
+    category VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,68 @@
+package com.school;
+
+import com.school.config.JwtUtil;
+import com.school.model.Result;
+import com.school.model.Student;
+import com.school.repository.ResultRepository;
+import com.school.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Full application on in-memory H2; every test class shares one context and one database,
+// so fixtures use fresh roll numbers instead of cleaning up
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+
+    private static final AtomicInteger ROLLS = new AtomicInteger();
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JwtUtil jwtUtil;
+
+    @Autowired
+    protected StudentRepository studentRepository;
+
+    @Autowired
+    protected ResultRepository resultRepository;
+
+    protected String adminAuth() {
+        return "Bearer " + jwtUtil.generateToken("admin", "ADMIN");
+    }
+
+    protected Student student(String className) {
+        Student s = new Student();
+        s.setRollNumber("T" + String.format("%06d", ROLLS.incrementAndGet()));
+        s.setFirstName("Test");
+        s.setLastName("Student");
+        s.setDateOfBirth(LocalDate.of(2012, 4, 1));
+        s.setClassName(className);
+        s.setSection("A");
+        s.setGuardianName("Guardian");
+        return studentRepository.save(s);
+    }
+
+    protected List<Result> results(Student student, String examType, String academicYear, String... subjects) {
+        return resultRepository.saveAll(java.util.Arrays.stream(subjects).map(subject -> {
+            Result r = new Result();
+            r.setStudent(student);
+            r.setSubject(subject);
+            r.setExamType(examType);
+            r.setAcademicYear(academicYear);
+            r.setMarksObtained(70.0);
+            r.setTotalMarks(100.0);
+            r.setGrade("B+");
+            return r;
+        }).toList());
+    }
+}
@@ -0,0 +1,38 @@
+package com.school.config;
+
+import java.util.concurrent.Callable;
+
+// Pins how many SQL statements a piece of work may run, so N+1 regressions fail the build.
+// Works around MockMvc calls: SqlMetricsFilter's request scope adds its counts into this one.
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    public static SqlMetrics.Counts capture(Callable<?> work) throws Exception {
+        SqlMetrics.Counts previous = SqlMetrics.begin();
+        SqlMetrics.Counts counts = SqlMetrics.current();
+        try {
+            work.call();
+        } finally {
+            SqlMetrics.end(previous);
+        }
+        return counts;
+    }
+
+    public static SqlMetrics.Counts expectAtMost(int maxStatements, Callable<?> work) throws Exception {
+        SqlMetrics.Counts counts = capture(work);
+        if (counts.statements() > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements but got " + counts);
+        }
+        return counts;
+    }
+
+    public static SqlMetrics.Counts expectExactly(int statements, Callable<?> work) throws Exception {
+        SqlMetrics.Counts counts = capture(work);
+        if (counts.statements() != statements) {
+            throw new AssertionError("Expected " + statements + " SQL statements but got " + counts);
+        }
+        return counts;
+    }
+}
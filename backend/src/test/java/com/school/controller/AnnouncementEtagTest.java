@@ -0,0 +1,49 @@
+package com.school.controller;
+
+import com.school.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The snapshot endpoints serve gzip and identity bodies; a cache must never get one for the other
+class AnnouncementEtagTest extends IntegrationTest {
+
+    @Test
+    void gzipAndIdentityBodiesHaveDifferentEtags() throws Exception {
+        String identity = etag(get("/api/announcements").header(HttpHeaders.ACCEPT_ENCODING, "identity"));
+        String gzip = etag(get("/api/announcements").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+
+        assertThat(gzip).isNotEqualTo(identity).endsWith("-gzip\"");
+    }
+
+    @Test
+    void revalidationMatchesOnlyTheSameEncoding() throws Exception {
+        String identity = etag(get("/api/announcements"));
+        String gzip = etag(get("/api/announcements").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        mockMvc.perform(get("/api/announcements").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzip))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzip))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+        mockMvc.perform(get("/api/announcements").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, identity))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        mockMvc.perform(get("/api/announcements").header(HttpHeaders.IF_NONE_MATCH, gzip))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private String etag(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,95 @@
+package com.school.controller;
+
+import com.school.IntegrationTest;
+import com.school.model.Result;
+import com.school.model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static com.school.config.SqlBudget.expectExactly;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every test class shares the published-results directory, so each test withdraws what it published
+class PublishedResultsTest extends IntegrationTest {
+
+    @AfterEach
+    void unpublish() throws Exception {
+        mockMvc.perform(delete("/api/results/admin/publish").header("Authorization", adminAuth()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void publishedCardIsTheFullCardServedWithoutTheDatabase() throws Exception {
+        Student s = student("Class 8");
+        results(s, "final", "2025-26", "Maths", "Science");
+        results(s, "midterm", "2025-26", "Maths");
+        publish("final", "2025-26");
+
+        expectExactly(0, () -> mockMvc.perform(lookup(s))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(3))
+                .andExpect(jsonPath("$.exams.length()").value(2)));
+    }
+
+    @Test
+    void studentAddedAfterPublishingIsLookedUpInTheDatabase() throws Exception {
+        publish("final", "2025-26");
+        Student s = student("Class 8");
+        results(s, "final", "2025-26", "Maths");
+
+        mockMvc.perform(lookup(s))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(1));
+    }
+
+    @Test
+    void resultChangedAfterPublishingIsServedLiveAndMarksTheSnapshotStale() throws Exception {
+        Student s = student("Class 8");
+        Result maths = results(s, "final", "2025-26", "Maths").get(0);
+        publish("final", "2025-26");
+        mockMvc.perform(get("/api/results/admin/publish").header("Authorization", adminAuth()))
+                .andExpect(jsonPath("$.stale").value(false));
+
+        mockMvc.perform(put("/api/results/" + maths.getId())
+                        .header("Authorization", adminAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"subject\":\"Maths\",\"examType\":\"final\",\"academicYear\":\"2025-26\","
+                                + "\"marksObtained\":95,\"totalMarks\":100}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(lookup(s))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].grade").value("A+"));
+        mockMvc.perform(get("/api/results/admin/publish").header("Authorization", adminAuth()))
+                .andExpect(jsonPath("$.stale").value(true))
+                .andExpect(jsonPath("$.changedStudents").value(1));
+
+        // Republishing picks the change up and serves it from the snapshot again
+        publish("final", "2025-26");
+        mockMvc.perform(get("/api/results/admin/publish").header("Authorization", adminAuth()))
+                .andExpect(jsonPath("$.stale").value(false));
+        expectExactly(0, () -> mockMvc.perform(lookup(s))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].grade").value("A+")));
+    }
+
+    private void publish(String examType, String academicYear) throws Exception {
+        mockMvc.perform(post("/api/results/admin/publish")
+                        .header("Authorization", adminAuth())
+                        .param("examType", examType).param("academicYear", academicYear))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.published").value(true));
+    }
+
+    private static RequestBuilder lookup(Student s) {
+        return get("/api/results/lookup")
+                .param("rollNumber", s.getRollNumber()).param("dob", s.getDateOfBirth().toString());
+    }
+}
@@ -0,0 +1,60 @@
+package com.school.controller;
+
+import com.school.IntegrationTest;
+import com.school.model.Student;
+import org.junit.jupiter.api.Test;
+
+import static com.school.config.SqlBudget.expectExactly;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement budgets for the result read paths; an N+1 shows up as a count that grows with the data
+class ResultEndpointsSqlBudgetTest extends IntegrationTest {
+
+    @Test
+    void lookupIsOneQueryThenServedFromCache() throws Exception {
+        Student s = student("Class 5");
+        results(s, "final", "2025-26", "Maths", "Science", "English", "Hindi");
+
+        expectExactly(1, () -> mockMvc.perform(get("/api/results/lookup")
+                        .param("rollNumber", s.getRollNumber()).param("dob", s.getDateOfBirth().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(4)));
+        expectExactly(0, () -> mockMvc.perform(get("/api/results/lookup")
+                        .param("rollNumber", s.getRollNumber()).param("dob", s.getDateOfBirth().toString()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void unknownLookupIsOneQuery() throws Exception {
+        expectExactly(1, () -> mockMvc.perform(get("/api/results/lookup")
+                        .param("rollNumber", "NO-SUCH-ROLL").param("dob", "2010-01-01"))
+                .andExpect(status().isNotFound()));
+    }
+
+    @Test
+    void studentCardIsOneQuery() throws Exception {
+        Student s = student("Class 6");
+        results(s, "midterm", "2025-26", "Maths", "Science", "English");
+        results(s, "final", "2025-26", "Maths", "Science", "English");
+
+        expectExactly(1, () -> mockMvc.perform(get("/api/results/student/" + s.getId())
+                        .header("Authorization", adminAuth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(6))
+                .andExpect(jsonPath("$.exams.length()").value(2)));
+    }
+
+    @Test
+    void allResultsIsOneQueryWhateverTheNumberOfStudents() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            results(student("Class 7"), "final", "2025-26", "Maths", "Science");
+        }
+
+        expectExactly(1, () -> mockMvc.perform(get("/api/results/admin/all")
+                        .header("Authorization", adminAuth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].student.rollNumber").exists()));
+    }
+}
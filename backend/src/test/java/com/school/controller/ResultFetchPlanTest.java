@@ -0,0 +1,94 @@
+package com.school.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.IntegrationTest;
+import com.school.model.Result;
+import com.school.model.Student;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.school.config.SqlBudget.expectExactly;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Result.student is LAZY; endpoints that need it must fetch it in their own query
+class ResultFetchPlanTest extends IntegrationTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void allResultsLoadsStudentsInTheSameStatement() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            results(student("Class 3"), "final", "2025-26", "Maths");
+        }
+
+        expectExactly(1, () -> mockMvc.perform(get("/api/results/admin/all")
+                        .header("Authorization", adminAuth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].student.firstName").value("Test"))
+                .andExpect(jsonPath("$[0].student.hibernateLazyInitializer").doesNotExist()));
+    }
+
+    @Test
+    void updateIsOneSelectAndOneUpdate() throws Exception {
+        Student s = student("Class 4");
+        Result r = results(s, "final", "2025-26", "Maths").get(0);
+        String body = "{\"subject\":\"Maths\",\"examType\":\"final\",\"academicYear\":\"2025-26\","
+                + "\"marksObtained\":91,\"totalMarks\":100}";
+
+        // Select with the student joined, then the update
+        expectExactly(2, () -> mockMvc.perform(put("/api/results/" + r.getId())
+                        .header("Authorization", adminAuth())
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.grade").value("A+"))
+                .andExpect(jsonPath("$.student.rollNumber").value(s.getRollNumber())));
+    }
+
+    @Test
+    void deleteIsOneSelectAndOneDelete() throws Exception {
+        Result r = results(student("Class 4"), "final", "2025-26", "Maths").get(0);
+
+        // Select with the student joined, then the delete
+        expectExactly(2, () -> mockMvc.perform(delete("/api/results/" + r.getId())
+                        .header("Authorization", adminAuth()))
+                .andExpect(status().isOk()));
+        assertThat(resultRepository.findById(r.getId())).isEmpty();
+    }
+
+    @Test
+    void resultWithFetchedStudentSerializesOutsideASession() throws Exception {
+        Result r = results(student("Class 2"), "final", "2025-26", "Maths").get(0);
+
+        Result loaded = resultRepository.findWithStudentById(r.getId()).orElseThrow();
+        String json = objectMapper.writeValueAsString(loaded);
+
+        assertThat(json).contains("\"rollNumber\":\"" + loaded.getStudent().getRollNumber() + "\"");
+    }
+
+    @Test
+    void initializedProxySerializesWithoutHibernateInternals() throws Exception {
+        Result r = results(student("Class 2"), "final", "2025-26", "Maths").get(0);
+
+        Result loaded = transactionTemplate.execute(status -> {
+            Result found = resultRepository.findById(r.getId()).orElseThrow();
+            Hibernate.initialize(found.getStudent());
+            return found;
+        });
+        assertThat(loaded.getStudent()).isNotExactlyInstanceOf(Student.class);
+        String json = objectMapper.writeValueAsString(loaded);
+
+        assertThat(json).contains("\"firstName\":\"Test\"").doesNotContain("hibernateLazyInitializer");
+    }
+}
@@ -0,0 +1,144 @@
+package com.school.repository;
+
+import com.school.IntegrationTest;
+import com.school.model.Student;
+import com.school.service.ListingService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every repository query, captures the SQL Hibernate generates and asks H2 for its plan.
+// A "tableScan" in the plan means a predicate has no usable index; add one in db/migration.
+// Reads of a whole table (findAll, exports, the announcement and teacher lists) are not listed.
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest extends IntegrationTest {
+
+    private static final LocalDate DOB = LocalDate.of(2012, 4, 1);
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ListingService listingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Student student;
+
+    @BeforeAll
+    void seed() {
+        student = student("Class 9");
+        results(student, "final", "2025-26", "Maths", "Science");
+    }
+
+    private Map<String, Runnable> queries() {
+        Long id = student.getId();
+        String roll = student.getRollNumber();
+        List<Long> ids = List.of(id);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("StudentRepository.findByRollNumber", () -> studentRepository.findByRollNumber(roll));
+        queries.put("StudentRepository.findByClassName", () -> studentRepository.findByClassName("Class 9"));
+        queries.put("StudentRepository.findByClassNameAndSection",
+                () -> studentRepository.findByClassNameAndSection("Class 9", "A"));
+        queries.put("StudentRepository.findByRollNumberAndDateOfBirth",
+                () -> studentRepository.findByRollNumberAndDateOfBirth(roll, DOB));
+        queries.put("StudentRepository.existsByRollNumber", () -> studentRepository.existsByRollNumber(roll));
+        queries.put("StudentRepository.findExistingRollNumbers",
+                () -> studentRepository.findExistingRollNumbers(List.of(roll, "NONE")));
+        queries.put("StudentRepository.findIdsAfter", () -> studentRepository.findIdsAfter(0L, Limit.of(10)));
+        queries.put("StudentRepository.findIdsForClass",
+                () -> studentRepository.findIdsForClass("Class 9", 0L, Limit.of(10)));
+        queries.put("StudentRepository.findIdsForClassSection",
+                () -> studentRepository.findIdsForClassSection("Class 9", "A", 0L, Limit.of(10)));
+
+        queries.put("ResultRepository.findWithStudentById", () -> resultRepository.findWithStudentById(id));
+        queries.put("ResultRepository.findByStudentId", () -> resultRepository.findByStudentId(id));
+        queries.put("ResultRepository.findByStudentIdAndExamTypeAndAcademicYear",
+                () -> resultRepository.findByStudentIdAndExamTypeAndAcademicYear(id, "final", "2025-26"));
+        queries.put("ResultRepository.findCardRows", () -> resultRepository.findCardRows(roll, DOB));
+        queries.put("ResultRepository.findCardRowsByStudentId", () -> resultRepository.findCardRowsByStudentId(id));
+        queries.put("ResultRepository.findCardRowsForStudents", () -> resultRepository.findCardRowsForStudents(ids));
+        queries.put("ResultRepository.findExamCardRows",
+                () -> resultRepository.findExamCardRows(ids, "final", "2025-26"));
+        queries.put("ResultRepository.findForClassSectionExam",
+                () -> resultRepository.findForClassSectionExam("Class 9", "A", "final", "2025-26"));
+        queries.put("ResultRepository.findForClassExam",
+                () -> resultRepository.findForClassExam("Class 9", "final", "2025-26"));
+        queries.put("ResultRepository.deleteByStudentIdInAndExamTypeAndAcademicYear",
+                () -> transactionTemplate.executeWithoutResult(status -> {
+                    resultRepository.deleteByStudentIdInAndExamTypeAndAcademicYear(ids, "none", "none");
+                }));
+
+        queries.put("AnnouncementRepository.findByCategory", () -> announcementRepository.findByCategory("exam"));
+        queries.put("TeacherRepository.findBySection", () -> teacherRepository.findBySection("Primary"));
+        queries.put("UserRepository.findByUsername", () -> userRepository.findByUsername("admin"));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("admin@school.com"));
+        queries.put("UserRepository.existsByUsername", () -> userRepository.existsByUsername("admin"));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("admin@school.com"));
+
+        queries.put("ListingService.students(class, section)",
+                () -> listingService.students(0L, 10, "Class 9", "A"));
+        queries.put("ListingService.results(year, exam)",
+                () -> listingService.results(0L, 10, null, null, "2025-26", "final", null));
+        queries.put("ListingService.results(subject, year, exam)",
+                () -> listingService.results(0L, 10, null, null, "2025-26", "final", "Maths"));
+        queries.put("ListingService.results(class)",
+                () -> listingService.results(0L, 10, "Class 9", null, null, null, null));
+        return queries;
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        return queries().entrySet().stream().map(e -> DynamicTest.dynamicTest(e.getKey(), () -> {
+            RecordingStatementInspector.start();
+            List<String> statements;
+            try {
+                e.getValue().run();
+            } finally {
+                statements = RecordingStatementInspector.stop();
+            }
+            assertThat(statements).as("SQL captured for " + e.getKey()).isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                assertThat(plan).as("Plan for %s:%n%s%n", e.getKey(), plan).doesNotContain("tableScan");
+            }
+        }));
+    }
+
+    // Parameters are left unbound (NULL); H2 plans from the predicate shape, not the values
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] args = Collections.nCopies(parameters, null).toArray();
+        List<String> lines = new ArrayList<>();
+        jdbcTemplate.query("EXPLAIN " + sql, rs -> {
+            lines.add(rs.getString(1));
+        }, args);
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,31 @@
+package com.school.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Collects the SQL Hibernate prepares on this thread while recording is on (see QueryPlanTest)
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> sql = RECORDED.get();
+        RECORDED.remove();
+        return sql != null ? sql : List.of();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> sink = RECORDED.get();
+        if (sink != null) {
+            sink.add(sql);
+        }
+        return sql;
+    }
+}
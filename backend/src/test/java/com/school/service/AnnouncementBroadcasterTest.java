@@ -0,0 +1,143 @@
+package com.school.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Clients are emitters whose send either returns at once or blocks like a write to a peer that stopped reading
+class AnnouncementBroadcasterTest {
+
+    private static final long SEND_TIMEOUT_MS = 200;
+
+    private static class FakeClient extends SseEmitter {
+        final AtomicInteger sent = new AtomicInteger();
+        final CountDownLatch completed = new CountDownLatch(1);
+        final CountDownLatch unblock;
+
+        FakeClient(boolean blocking) {
+            unblock = new CountDownLatch(blocking ? 1 : 0);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+
+    private final Deque<Supplier<FakeClient>> connections = new ArrayDeque<>();
+    private final AnnouncementBroadcaster broadcaster = new AnnouncementBroadcaster(new ObjectMapper(),
+            60_000, 3600, 16, 32, 100, 2, SEND_TIMEOUT_MS, 8) {
+        @Override
+        SseEmitter newEmitter(long timeout) {
+            return connections.removeFirst().get();
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void stalledClientDoesNotDelayOthersAndIsDropped() throws Exception {
+        FakeClient stuck = connect(true);
+        FakeClient healthy = connect(false);
+
+        for (int i = 0; i < 3; i++) {
+            broadcaster.created(Map.of("id", i));
+        }
+
+        waitFor(() -> healthy.sent.get() == 3);
+        waitFor(() -> stats("droppedStalled").equals(1L));
+        assertThat(stats("clients")).isEqualTo(1);
+        // Completing would wait on the emitter's lock, so it waits for the blocked send to return
+        assertThat(stuck.completed.getCount()).isEqualTo(1);
+
+        stuck.unblock.countDown();
+        assertThat(stuck.completed.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(stuck.sent.get()).isEqualTo(1);
+    }
+
+    @Test
+    void moreStalledClientsThanSenderThreadsDoNotStarveHealthyOnes() throws Exception {
+        List<FakeClient> stuck = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            stuck.add(connect(true));
+        }
+        FakeClient healthy = connect(false);
+
+        for (int i = 0; i < 3; i++) {
+            broadcaster.created(Map.of("id", i));
+        }
+
+        // Both senders park on stalled clients; each one dropped frees a thread for the next in line
+        waitFor(() -> healthy.sent.get() == 3);
+        waitFor(() -> stats("droppedStalled").equals(5L));
+        assertThat(stats("stalledSends")).isEqualTo(5);
+        assertThat(stats("clients")).isEqualTo(1);
+
+        broadcaster.created(Map.of("id", 3));
+        waitFor(() -> healthy.sent.get() == 4);
+
+        // Once the blocked writes return, the extra threads go away again
+        stuck.forEach(c -> c.unblock.countDown());
+        waitFor(() -> stats("stalledSends").equals(0));
+        for (FakeClient client : stuck) {
+            assertThat(client.completed.await(2, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void closedClientIsCompleted() throws Exception {
+        FakeClient client = connect(false);
+        broadcaster.created(Map.of("id", 1));
+        waitFor(() -> client.sent.get() == 1);
+
+        broadcaster.shutdown();
+
+        assertThat(client.completed.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private FakeClient connect(boolean blocking) {
+        FakeClient client = new FakeClient(blocking);
+        connections.addLast(() -> client);
+        assertThat(broadcaster.subscribe(null)).isSameAs(client);
+        return client;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 2s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private Object stats(String key) {
+        return broadcaster.stats().get(key);
+    }
+}
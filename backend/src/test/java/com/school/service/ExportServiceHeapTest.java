@@ -0,0 +1,109 @@
+package com.school.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Exports more rows than fit in the heap. Runs only with -DsmallHeapTests, in the small-heap
+// surefire execution (-Xmx64m, see pom.xml), on a file-backed H2 so the table data itself is not
+// on the heap. Loading the 100k results as entities needs well over 64 MB, so any code path that
+// buffers the export instead of streaming it fails with OutOfMemoryError.
+@Tag("small-heap")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportServiceHeapTest {
+
+    private static final int STUDENTS = 10_000;
+    private static final int RESULTS_PER_STUDENT = 10;
+    private static final int RESULTS = STUDENTS * RESULTS_PER_STUDENT;
+
+    @DynamicPropertySource
+    static void fileDatabase(DynamicPropertyRegistry registry) throws IOException {
+        Path dir = Files.createTempDirectory(Path.of("target"), "export-heap-");
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:file:" + dir.toAbsolutePath().resolve("school") + ";CACHE_SIZE=4096");
+    }
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        // Generated inside H2 so seeding does not hold rows on the heap either
+        jdbcTemplate.update("INSERT INTO students (id, roll_number, first_name, last_name, date_of_birth, gender, "
+                + "email, phone, address, class_name, section, guardian_name, guardian_phone, admission_year) "
+                + "SELECT X, 'H' || X, 'First' || X, 'Last, \"quoted\"', DATE '2012-04-01', 'F', "
+                + "'s' || X || '@school.test', '555-0100', 'Street ' || X, 'Class ' || MOD(X, 10), 'A', "
+                + "'Guardian ' || X, '555-0199', 2020 FROM SYSTEM_RANGE(1, ?)", STUDENTS);
+        for (int subject = 0; subject < RESULTS_PER_STUDENT; subject++) {
+            jdbcTemplate.update("INSERT INTO results (student_id, subject, exam_type, marks_obtained, total_marks, "
+                    + "grade, academic_year, semester, remarks) "
+                    + "SELECT X, ?, 'final', MOD(X, 100), 100, 'B', '2025-26', '2', 'Remarks for ' || X "
+                    + "FROM SYSTEM_RANGE(1, ?)", "Subject " + subject, STUDENTS);
+        }
+    }
+
+    @Test
+    void resultsStreamAsNdjson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        assertThat(exportService.exportResults(ExportService.Format.NDJSON, out)).isEqualTo(RESULTS);
+        assertThat(out.lines).isEqualTo(RESULTS);
+    }
+
+    @Test
+    void resultsStreamAsCsv() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        assertThat(exportService.exportResults(ExportService.Format.CSV, out)).isEqualTo(RESULTS);
+        assertThat(out.lines).isEqualTo(RESULTS + 1);
+    }
+
+    @Test
+    void studentsStreamAsNdjsonAndCsv() throws IOException {
+        CountingOutputStream ndjson = new CountingOutputStream();
+        assertThat(exportService.exportStudents(ExportService.Format.NDJSON, ndjson)).isEqualTo(STUDENTS);
+        assertThat(ndjson.lines).isEqualTo(STUDENTS);
+
+        CountingOutputStream csv = new CountingOutputStream();
+        assertThat(exportService.exportStudents(ExportService.Format.CSV, csv)).isEqualTo(STUDENTS);
+        assertThat(csv.lines).isEqualTo(STUDENTS + 1);
+    }
+
+    // Discards the export, keeping only the number of lines written
+    private static class CountingOutputStream extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.school.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhotoStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void largePhotoIsDecodedSubsampledToTheThumbnail() throws IOException {
+        PhotoStore store = new PhotoStore(dir.toString(), 256, 12_000_000);
+        byte[] photo = png(4000, 3000);
+
+        PhotoStore.StoredPhoto stored = store.store(photo);
+
+        Path original = dir.resolve(stored.hash().substring(0, 2)).resolve(stored.hash() + ".png");
+        Path thumb = dir.resolve(stored.hash().substring(0, 2)).resolve(stored.hash() + ".thumb.jpg");
+        assertThat(Files.readAllBytes(original)).isEqualTo(photo);
+        BufferedImage thumbnail = ImageIO.read(thumb.toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(256);
+        assertThat(thumbnail.getHeight()).isEqualTo(192);
+    }
+
+    @Test
+    void smallPhotoIsNotUpscaled() throws IOException {
+        PhotoStore store = new PhotoStore(dir.toString(), 256, 12_000_000);
+
+        PhotoStore.StoredPhoto stored = store.store(png(120, 80));
+
+        BufferedImage thumbnail = ImageIO.read(dir.resolve(stored.hash().substring(0, 2))
+                .resolve(stored.hash() + ".thumb.jpg").toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(120);
+        assertThat(thumbnail.getHeight()).isEqualTo(80);
+    }
+
+    @Test
+    void photoOverThePixelLimitIsRejectedBeforeDecoding() throws IOException {
+        PhotoStore store = new PhotoStore(dir.toString(), 256, 12_000_000);
+        byte[] photo = png(4000, 3001);
+
+        assertThatThrownBy(() -> store.store(photo))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Image is too large");
+        assertThat(dir).isEmptyDirectory();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
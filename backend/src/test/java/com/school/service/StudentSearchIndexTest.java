@@ -0,0 +1,74 @@
+package com.school.service;
+
+import com.school.dto.StudentSuggestion;
+import com.school.model.Student;
+import com.school.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentSearchIndexTest {
+
+    private StudentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        StudentRepository repository = mock(StudentRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                student(1, "R000123", "Rahul", "Sharma", "Vivek Sharma"),
+                student(2, "R001230", "Ananya", "Verma", "Rahul Verma"),
+                student(3, "R000124", "Kavya", "Gupta", "Meera Gupta")));
+        index = new StudentSearchIndex(repository);
+    }
+
+    @Test
+    void matchesExactPrefixAndTypo() {
+        assertThat(ids("rahul")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("sharm")).containsExactly(1L);
+        assertThat(ids("rahl")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("rahul", 10).get(0).getScore()).isEqualTo(1.0);
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        assertThat(ids("ananya vrma")).containsExactly(2L);
+        assertThat(ids("kavya sharma")).isEmpty();
+    }
+
+    @Test
+    void rollNumbersMatchByPrefixOnly() {
+        assertThat(ids("R00012")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids("R00123")).containsExactly(2L);
+        assertThat(ids("R000125")).isEmpty();
+    }
+
+    @Test
+    void writesAreVisibleToTheNextSearch() {
+        ids("warm");
+        index.upsert(student(2, "R001230", "Ananya", "Mishra", "Rahul Mishra"));
+        index.remove(1L);
+
+        assertThat(ids("verma")).isEmpty();
+        assertThat(ids("mishra")).containsExactly(2L);
+        assertThat(ids("sharma")).isEmpty();
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10).stream().map(StudentSuggestion::getId).toList();
+    }
+
+    private static Student student(long id, String roll, String first, String last, String guardian) {
+        Student s = new Student();
+        s.setId(id);
+        s.setRollNumber(roll);
+        s.setFirstName(first);
+        s.setLastName(last);
+        s.setGuardianName(guardian);
+        return s;
+    }
+}
@@ -0,0 +1,13 @@
+#!/usr/bin/env sh
+# Builds the backend and the benchmarks, then runs JMH and writes JSON results to
+# benchmarks/results/. Extra arguments go straight to JMH, e.g. ./run.sh JwtBenchmark -f 2
+set -e
+cd "$(dirname "$0")"
+
+../backend/mvnw -q -f ../backend/pom.xml install -DskipTests
+../backend/mvnw -q -f pom.xml package
+
+mkdir -p results
+out="results/jmh-$(date +%Y%m%d-%H%M%S).json"
+java -jar target/benchmarks.jar -rf json -rff "$out" "$@"
+echo "Results written to benchmarks/$out"
@@ -0,0 +1,135 @@
+package com.school.benchmarks;
+
+import com.school.config.JwtUtil;
+import com.school.dto.ResultCard;
+import com.school.dto.ResultCardRow;
+import com.school.model.Result;
+import com.school.model.Student;
+import com.school.service.Grades;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Deterministic synthetic data shared by the benchmarks
+final class Fixtures {
+
+    static final String JWT_SECRET = "BenchmarkSecretKeyForJWTTokenGenerationThatIsLongEnoughForHS512Signing";
+    static final List<String> SUBJECTS = List.of("English", "Hindi", "Mathematics", "Science", "Social Science", "Computer");
+    static final String EXAM_TYPE = "final";
+    static final String ACADEMIC_YEAR = "2025-26";
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Ananya", "Diya", "Ishaan",
+            "Kavya", "Rahul", "Priya", "Rohan", "Saanvi", "Arjun", "Meera", "Kabir", "Nisha", "Dev"};
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Gupta", "Singh", "Kumar", "Patel",
+            "Yadav", "Mishra", "Joshi", "Reddy", "Nair", "Das"};
+    private static final String[] SECTIONS = {"A", "B", "C"};
+
+    private Fixtures() {
+    }
+
+    // JwtUtil is normally configured by Spring; set its @Value fields and run its @PostConstruct by hand
+    static JwtUtil jwtUtil(int cacheSize) {
+        try {
+            JwtUtil jwtUtil = new JwtUtil();
+            set(jwtUtil, "secret", JWT_SECRET);
+            set(jwtUtil, "expiration", 86_400_000L);
+            set(jwtUtil, "cacheSize", cacheSize);
+            Method init = JwtUtil.class.getDeclaredMethod("init");
+            init.setAccessible(true);
+            init.invoke(jwtUtil);
+            return jwtUtil;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String className(int index) {
+        return String.valueOf(1 + index % 12);
+    }
+
+    static List<Student> students(int count) {
+        Random random = new Random(42);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student s = new Student();
+            s.setId((long) i + 1);
+            s.setRollNumber(rollNumber(i));
+            s.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            s.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            s.setDateOfBirth(dateOfBirth(i));
+            s.setGender(random.nextBoolean() ? "Male" : "Female");
+            s.setEmail("student" + i + "@example.com");
+            s.setPhone("98" + String.format("%08d", random.nextInt(100_000_000)));
+            s.setAddress(random.nextInt(500) + " Civil Lines, Prayagraj");
+            s.setClassName(className(i));
+            s.setSection(SECTIONS[(i / 12) % SECTIONS.length]);
+            s.setGuardianName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + s.getLastName());
+            s.setGuardianPhone("97" + String.format("%08d", random.nextInt(100_000_000)));
+            s.setAdmissionYear(2015 + random.nextInt(10));
+            students.add(s);
+        }
+        return students;
+    }
+
+    // One result per subject for every student
+    static List<Result> results(List<Student> students) {
+        Random random = new Random(7);
+        List<Result> results = new ArrayList<>(students.size() * SUBJECTS.size());
+        long id = 1;
+        for (Student student : students) {
+            for (String subject : SUBJECTS) {
+                double obtained = 25 + random.nextInt(76);
+                Result r = new Result();
+                r.setId(id++);
+                r.setStudent(student);
+                r.setSubject(subject);
+                r.setExamType(EXAM_TYPE);
+                r.setMarksObtained(obtained);
+                r.setTotalMarks(100.0);
+                r.setGrade(Grades.calculateGrade(obtained, 100.0));
+                r.setAcademicYear(ACADEMIC_YEAR);
+                results.add(r);
+            }
+        }
+        return results;
+    }
+
+    // The entity-based lookup response that ResultController returned before the result-card DTOs
+    static Map<String, Object> entityLookupResponse(Student student, List<Result> results) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("student", student);
+        response.put("results", results);
+        return response;
+    }
+
+    static ResultCard resultCard(Student s, List<Result> results) {
+        List<ResultCardRow> rows = new ArrayList<>(results.size());
+        for (Result r : results) {
+            rows.add(new ResultCardRow(s.getRollNumber(), s.getFirstName(), s.getLastName(), s.getDateOfBirth(),
+                    s.getClassName(), s.getSection(), s.getGuardianName(), r.getId(), r.getSubject(),
+                    r.getExamType(), r.getAcademicYear(), r.getMarksObtained(), r.getTotalMarks(), r.getGrade(),
+                    r.getRemarks()));
+        }
+        return ResultCard.of(rows);
+    }
+
+    static String rollNumber(int index) {
+        return String.format("R%06d", index + 1);
+    }
+
+    static LocalDate dateOfBirth(int index) {
+        return LocalDate.of(2008, 1, 1).plusDays(index % 3650);
+    }
+
+    private static void set(Object target, String field, Object value) throws ReflectiveOperationException {
+        Field f = target.getClass().getDeclaredField(field);
+        f.setAccessible(true);
+        f.set(target, value);
+    }
+}
@@ -0,0 +1,58 @@
+package com.school.benchmarks;
+
+import com.school.model.Result;
+import com.school.service.ClassAnalyticsService;
+import com.school.service.Grades;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Grade calculation for a single mark and for every result of a class
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradesBenchmark {
+
+    @Param({"40", "400"})
+    public int classSize;
+
+    private List<Result> results;
+    private double[] obtained;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        results = Fixtures.results(Fixtures.students(classSize));
+        obtained = results.stream().mapToDouble(Result::getMarksObtained).toArray();
+    }
+
+    @Benchmark
+    public String calculateGrade() {
+        cursor = (cursor + 1) % obtained.length;
+        return Grades.calculateGrade(obtained[cursor], 100.0);
+    }
+
+    @Benchmark
+    public Map<String, Integer> classGradeDistribution() {
+        Map<String, Integer> distribution = new HashMap<>();
+        for (Result r : results) {
+            distribution.merge(Grades.calculateGrade(r.getMarksObtained(), r.getTotalMarks()), 1, Integer::sum);
+        }
+        return distribution;
+    }
+
+    // What the analytics aggregates do per result: project the entity and grade it
+    @Benchmark
+    public void classAnalyticsEntries(Blackhole bh) {
+        for (Result r : results) {
+            bh.consume(ClassAnalyticsService.Entry.of(r));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.school.benchmarks;
+
+import com.school.config.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Token issue and verification. "cached" is the steady state for a logged-in admin;
+// "uncached" is the first request with a token (or every request with the cache disabled).
+// The request* methods compare a whole authenticated request's token work with the old path.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cached = Fixtures.jwtUtil(1024);
+        uncached = Fixtures.jwtUtil(0);
+        token = cached.generateToken("admin", "ADMIN");
+        cached.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cached.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncached.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsernameUncached() {
+        return uncached.extractUsername(token);
+    }
+
+    // What JwtAuthFilter used to do: validateToken, extractUsername and extractRole, each
+    // deriving the HMAC key, building a parser and verifying the signature again
+    @Benchmark
+    public void requestBaseline(Blackhole blackhole) {
+        boolean valid;
+        try {
+            legacyClaims(token);
+            valid = true;
+        } catch (JwtException | IllegalArgumentException e) {
+            valid = false;
+        }
+        blackhole.consume(valid);
+        if (valid) {
+            blackhole.consume(legacyClaims(token).getSubject());
+            blackhole.consume(legacyClaims(token).get("role", String.class));
+        }
+    }
+
+    // One parseClaims per request, as JwtAuthFilter does now
+    @Benchmark
+    public void requestUncached(Blackhole blackhole) {
+        Claims claims = uncached.parseClaims(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get("role", String.class));
+    }
+
+    @Benchmark
+    public void requestCached(Blackhole blackhole) {
+        Claims claims = cached.parseClaims(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get("role", String.class));
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Fixtures.JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
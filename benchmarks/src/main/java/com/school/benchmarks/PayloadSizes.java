@@ -0,0 +1,46 @@
+package com.school.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.school.model.Result;
+import com.school.model.Student;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// Prints response sizes (plain and gzip) of the lookup response as entities vs as a result card.
+//   java -cp benchmarks/target/benchmarks.jar com.school.benchmarks.PayloadSizes
+public final class PayloadSizes {
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Student student = Fixtures.students(1).get(0);
+        System.out.printf("%-10s %-12s %10s %10s%n", "subjects", "shape", "bytes", "gzip");
+        for (int exams : new int[]{1, 3}) {
+            List<Result> results = Fixtures.results(List.of(student));
+            List<Result> all = new ArrayList<>();
+            for (int e = 0; e < exams; e++) {
+                for (Result r : results) {
+                    all.add(new Result(r.getId() + e * 100L, student, r.getSubject(), "exam" + e,
+                            r.getMarksObtained(), r.getTotalMarks(), r.getGrade(), r.getAcademicYear(), null, null));
+                }
+            }
+            print(all.size(), "entities", objectMapper.writeValueAsBytes(Fixtures.entityLookupResponse(student, all)));
+            print(all.size(), "resultCard", objectMapper.writeValueAsBytes(Fixtures.resultCard(student, all)));
+        }
+    }
+
+    private static void print(int subjects, String shape, byte[] json) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        }
+        System.out.printf("%-10d %-12s %10d %10d%n", subjects, shape, json.length, buffer.size());
+    }
+}
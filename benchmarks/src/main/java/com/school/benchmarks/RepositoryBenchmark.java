@@ -0,0 +1,132 @@
+package com.school.benchmarks;
+
+import com.school.SchoolApplication;
+import com.school.model.Result;
+import com.school.model.Student;
+import com.school.repository.ResultRepository;
+import com.school.repository.StudentRepository;
+import com.school.service.ListingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The repository queries behind the public lookup and the admin listings, against the real
+// application context on an in-memory H2 database seeded with a school's worth of data
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({"2000"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentRepository studentRepository;
+    private ResultRepository resultRepository;
+    private ListingService listingService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Command-line style arguments so they win over the MySQL settings in application.properties
+        context = new SpringApplicationBuilder(SchoolApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        studentRepository = context.getBean(StudentRepository.class);
+        resultRepository = context.getBean(ResultRepository.class);
+        listingService = context.getBean(ListingService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // The two queries behind GET /api/results/lookup
+    @Benchmark
+    public List<Result> lookupByRollAndDob() {
+        int i = ThreadLocalRandom.current().nextInt(students);
+        Optional<Student> student = studentRepository.findByRollNumberAndDateOfBirth(
+                Fixtures.rollNumber(i), Fixtures.dateOfBirth(i));
+        return student.map(s -> resultRepository.findByStudentId(s.getId())).orElse(List.of());
+    }
+
+    @Benchmark
+    public Optional<Student> lookupMiss() {
+        return studentRepository.findByRollNumberAndDateOfBirth("R999999", LocalDate.of(2000, 1, 1));
+    }
+
+    @Benchmark
+    public List<Student> studentsByClass() {
+        return studentRepository.findByClassName(Fixtures.className(ThreadLocalRandom.current().nextInt(12)));
+    }
+
+    @Benchmark
+    public List<Result> classExamResults() {
+        return resultRepository.findForClassExam(Fixtures.className(ThreadLocalRandom.current().nextInt(12)),
+                Fixtures.EXAM_TYPE, Fixtures.ACADEMIC_YEAR);
+    }
+
+    @Benchmark
+    public Object resultPage() {
+        return listingService.results(null, 50, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<Student> allStudents() {
+        return studentRepository.findAll();
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        List<Student> studentList = Fixtures.students(students);
+        jdbc.batchUpdate("INSERT INTO students (id, roll_number, first_name, last_name, date_of_birth, gender, "
+                        + "email, phone, address, class_name, section, guardian_name, guardian_phone, admission_year) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                studentList, 500, (ps, s) -> {
+                    ps.setLong(1, s.getId());
+                    ps.setString(2, s.getRollNumber());
+                    ps.setString(3, s.getFirstName());
+                    ps.setString(4, s.getLastName());
+                    ps.setDate(5, Date.valueOf(s.getDateOfBirth()));
+                    ps.setString(6, s.getGender());
+                    ps.setString(7, s.getEmail());
+                    ps.setString(8, s.getPhone());
+                    ps.setString(9, s.getAddress());
+                    ps.setString(10, s.getClassName());
+                    ps.setString(11, s.getSection());
+                    ps.setString(12, s.getGuardianName());
+                    ps.setString(13, s.getGuardianPhone());
+                    ps.setInt(14, s.getAdmissionYear());
+                });
+        jdbc.batchUpdate("INSERT INTO results (id, student_id, subject, exam_type, marks_obtained, total_marks, "
+                        + "grade, academic_year) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                Fixtures.results(studentList), 500, (ps, r) -> {
+                    ps.setLong(1, r.getId());
+                    ps.setLong(2, r.getStudent().getId());
+                    ps.setString(3, r.getSubject());
+                    ps.setString(4, r.getExamType());
+                    ps.setDouble(5, r.getMarksObtained());
+                    ps.setDouble(6, r.getTotalMarks());
+                    ps.setString(7, r.getGrade());
+                    ps.setString(8, r.getAcademicYear());
+                });
+    }
+}
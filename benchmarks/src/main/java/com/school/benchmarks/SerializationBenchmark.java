@@ -0,0 +1,75 @@
+package com.school.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.school.dto.ResultCard;
+import com.school.model.Result;
+import com.school.model.Student;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Jackson encoding of the public lookup response and of the admin list endpoints,
+// using an ObjectMapper configured the way Spring Boot configures the app's
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    // Whole-school sizes: students, and results at one per subject per student
+    @Param({"500", "2000"})
+    public int students;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> lookupResponse;
+    private ResultCard resultCard;
+    private List<Student> studentList;
+    private List<Result> resultList;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        studentList = Fixtures.students(students);
+        resultList = Fixtures.results(studentList);
+
+        // A student with two exams on record, as the entity map and as the result card
+        Student student = studentList.get(0);
+        List<Result> results = new ArrayList<>(resultList.subList(0, Fixtures.SUBJECTS.size()));
+        for (Result r : resultList.subList(0, Fixtures.SUBJECTS.size())) {
+            Result midterm = new Result(r.getId() + 1_000_000, student, r.getSubject(), "midterm",
+                    r.getMarksObtained() - 5, r.getTotalMarks(), r.getGrade(), r.getAcademicYear(), null, null);
+            results.add(midterm);
+        }
+        lookupResponse = Fixtures.entityLookupResponse(student, results);
+        resultCard = Fixtures.resultCard(student, results);
+    }
+
+    @Benchmark
+    public byte[] lookupResponseEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(lookupResponse);
+    }
+
+    @Benchmark
+    public byte[] lookupResponseResultCard() throws Exception {
+        return objectMapper.writeValueAsBytes(resultCard);
+    }
+
+    @Benchmark
+    public byte[] studentList() throws Exception {
+        return objectMapper.writeValueAsBytes(studentList);
+    }
+
+    @Benchmark
+    public byte[] resultList() throws Exception {
+        return objectMapper.writeValueAsBytes(resultList);
+    }
+}
@@ -0,0 +1,130 @@
+package com.school.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.SchoolApplication;
+import com.school.repository.AnnouncementRepository;
+import com.school.service.PublicSnapshotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+// GET /api/announcements served from the pre-encoded snapshot, against the query + Jackson
+// (+ gzip) work the endpoint did per request before, on the real application context
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"50", "500"})
+    public int announcements;
+
+    private ConfigurableApplicationContext context;
+    private PublicSnapshotService snapshotService;
+    private AnnouncementRepository announcementRepository;
+    private ObjectMapper objectMapper;
+    private ServletWebRequest identityRequest;
+    private ServletWebRequest gzipRequest;
+    private ServletWebRequest revalidateRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(SchoolApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:snapshot-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        snapshotService = context.getBean(PublicSnapshotService.class);
+        announcementRepository = context.getBean(AnnouncementRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        seed(context.getBean(JdbcTemplate.class));
+        // Seeded behind the service's back, so rebuild the snapshot once
+        snapshotService.announcementsChanged();
+
+        identityRequest = request(null, null);
+        gzipRequest = request("gzip, deflate, br", null);
+        String etag = snapshotService.announcements(null, gzipRequest).getHeaders().getETag();
+        revalidateRequest = request("gzip, deflate, br", etag);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> snapshotIdentity() {
+        return snapshotService.announcements(null, identityRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> snapshotGzip() {
+        return snapshotService.announcements(null, gzipRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> snapshotNotModified() {
+        return snapshotService.announcements(null, revalidateRequest);
+    }
+
+    // The old handler: query, then let Jackson encode the entities
+    @Benchmark
+    public byte[] queryAndJackson() throws Exception {
+        return objectMapper.writeValueAsBytes(announcementRepository.findAllByOrderByCreatedAtDesc());
+    }
+
+    // The same plus response compression, to compare with snapshotGzip
+    @Benchmark
+    public byte[] queryJacksonAndGzip() throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(gzip, announcementRepository.findAllByOrderByCreatedAtDesc());
+        }
+        return buffer.toByteArray();
+    }
+
+    private static ServletWebRequest request(String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/announcements");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        String[] categories = {"general", "exam", "event", "holiday"};
+        LocalDateTime start = LocalDateTime.of(2025, 4, 1, 9, 0);
+        jdbc.batchUpdate("INSERT INTO announcements (title, content, category, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                IntStream.range(0, announcements).boxed().toList(), 500, (ps, i) -> {
+                    Timestamp at = Timestamp.valueOf(start.plusHours(i));
+                    ps.setString(1, "Announcement " + i);
+                    ps.setString(2, ("Details of announcement " + i + " for parents and students. ").repeat(6));
+                    ps.setString(3, categories[i % categories.length]);
+                    ps.setTimestamp(4, at);
+                    ps.setTimestamp(5, at);
+                });
+    }
+}
@@ -0,0 +1,84 @@
+package com.school.benchmarks;
+
+import com.school.dto.StudentSuggestion;
+import com.school.model.Student;
+import com.school.repository.StudentRepository;
+import com.school.service.StudentSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/students/search over a large school: prefix, typo and multi-word queries against the
+// trigram index, and the client-side filter over every student that the admin UI used before
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentSearchBenchmark {
+
+    @Param({"20000", "50000"})
+    public int students;
+
+    @Param({"kav", "sharm", "R00123", "rahl", "ananya vrma"})
+    public String query;
+
+    private List<Student> studentList;
+    private StudentSearchIndex index;
+    private Student edited;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        studentList = Fixtures.students(students);
+        index = new StudentSearchIndex(repository(studentList));
+        // Loads the index outside the measurement
+        index.search("warmup", 1);
+        edited = studentList.get(students / 2);
+    }
+
+    @Benchmark
+    public List<StudentSuggestion> indexSearch() {
+        return index.search(query, 10);
+    }
+
+    // Substring match over every student, as the admin UI filtered the full list
+    @Benchmark
+    public List<Student> scanAll() {
+        String[] terms = query.toLowerCase(Locale.ROOT).split("\\s+");
+        List<Student> matches = new ArrayList<>();
+        for (Student s : studentList) {
+            String text = (s.getFirstName() + " " + s.getLastName() + " " + s.getRollNumber() + " "
+                    + s.getGuardianName()).toLowerCase(Locale.ROOT);
+            boolean all = true;
+            for (String term : terms) {
+                all &= text.contains(term);
+            }
+            if (all) {
+                matches.add(s);
+            }
+        }
+        return matches;
+    }
+
+    // The index maintenance done by every student create/update
+    @Benchmark
+    public void upsert() {
+        index.upsert(edited);
+    }
+
+    // StudentSearchIndex only calls findAll()
+    private static StudentRepository repository(List<Student> all) {
+        return (StudentRepository) Proxy.newProxyInstance(StudentRepository.class.getClassLoader(),
+                new Class<?>[] {StudentRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return all;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
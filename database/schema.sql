@@ -2,7 +2,8 @@
 -- School Website Database Schema for MySQL
 -- ============================================
 -- Run this ONLY if you want to manually create the database.
--- Spring Boot with `ddl-auto=update` will auto-create tables.
+-- The backend applies its own Flyway migrations on startup
+-- (backend/src/main/resources/db/migration/{vendor}); those are authoritative.
 
 CREATE DATABASE IF NOT EXISTS school_db;
 USE school_db;
@@ -74,6 +75,14 @@ CREATE TABLE IF NOT EXISTS announcements (
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
+-- Hot-path indexes (see db/migration/*/V2__hot_path_indexes.sql)
+CREATE INDEX idx_results_student_exam_year ON results (student_id, exam_type, academic_year);
+CREATE INDEX idx_students_roll_dob ON students (roll_number, date_of_birth);
+CREATE INDEX idx_students_class_section ON students (class_name, section, id);
+CREATE INDEX idx_announcements_created_at ON announcements (created_at);
+CREATE INDEX idx_results_year_exam ON results (academic_year, exam_type, id);
+CREATE INDEX idx_results_subject ON results (subject, academic_year, exam_type, id);
+
 -- ============================================
 -- Default Admin User (password: admin123)
 -- ============================================
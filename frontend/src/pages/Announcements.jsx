@@ -1,6 +1,6 @@
 import { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
-import { getAnnouncements } from '../services/api';
+import { getAnnouncements, announcementStreamUrl } from '../services/api';
 import useScrollAnimation from '../hooks/useScrollAnimation';
 
 const defaultAnnouncements = [
@@ -22,9 +22,57 @@ export default function Announcements() {
   const [filterCat, setFilterCat] = useState('all');
 
   useEffect(() => {
-    getAnnouncements()
-      .then(r => setAnnouncements(r.data.length > 0 ? r.data : defaultAnnouncements))
-      .catch(() => setAnnouncements(defaultAnnouncements));
+    // Events that arrive while the list is loading are queued and replayed on top of it
+    let queued = [];
+    let loads = 0;
+    const apply = (update) => (queued ? queued.push(update) : setAnnouncements(update));
+    const load = () => {
+      const current = ++loads;
+      queued = queued || [];
+      return getAnnouncements()
+        .then(r => (r.data.length > 0 ? r.data : defaultAnnouncements))
+        .catch(() => defaultAnnouncements)
+        .then(list => {
+          // A newer load (after a reset) replaces this one
+          if (current !== loads) return;
+          const updates = queued;
+          queued = null;
+          setAnnouncements(updates.reduce((l, update) => update(l), list));
+        });
+    };
+
+    // Live updates instead of refreshing; the browser reconnects and resumes on its own
+    if (typeof EventSource === 'undefined') {
+      load();
+      return undefined;
+    }
+    // Subscribe first and load once the stream is open, so nothing published in between is lost
+    const source = new EventSource(announcementStreamUrl);
+    let loaded = false;
+    const loadOnce = () => {
+      if (!loaded) {
+        loaded = true;
+        load();
+      }
+    };
+    source.addEventListener('open', loadOnce);
+    source.addEventListener('error', loadOnce);
+    const upsert = (e) => {
+      const a = JSON.parse(e.data);
+      apply(list => {
+        const real = list === defaultAnnouncements ? [] : list;
+        return real.some(x => x.id === a.id) ? real.map(x => (x.id === a.id ? a : x)) : [a, ...real];
+      });
+    };
+    source.addEventListener('created', upsert);
+    source.addEventListener('updated', upsert);
+    source.addEventListener('deleted', (e) => {
+      const { id } = JSON.parse(e.data);
+      apply(list => list.filter(x => x.id !== id));
+    });
+    // Missed more events than the server keeps; reload the list
+    source.addEventListener('reset', load);
+    return () => source.close();
   }, []);
 
   const filtered = filterCat === 'all' ? announcements : announcements.filter(a => a.category === filterCat);
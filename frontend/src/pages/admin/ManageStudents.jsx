@@ -1,5 +1,5 @@
 import { useState, useEffect } from 'react';
-import { getStudents, createStudent, updateStudent, deleteStudent } from '../../services/api';
+import { getStudents, createStudent, updateStudent, deleteStudent, importStudents } from '../../services/api';
 
 const classes = ['Nursery', 'LKG', 'UKG', 'Class 1', 'Class 2', 'Class 3', 'Class 4', 'Class 5', 'Class 6', 'Class 7', 'Class 8'];
 
@@ -17,6 +17,7 @@ export default function ManageStudents() {
   const [error, setError] = useState('');
   const [search, setSearch] = useState('');
   const [filterClass, setFilterClass] = useState('');
+  const [importResult, setImportResult] = useState(null);
 
   const load = () => getStudents().then(r => setStudents(r.data)).catch(() => {});
   useEffect(() => { load(); }, []);
@@ -58,6 +59,21 @@ export default function ManageStudents() {
     }
   };
 
+  // CSV (header row, same columns as the export) or NDJSON
+  const handleImport = async (e) => {
+    const file = e.target.files[0];
+    e.target.value = '';
+    if (!file) return;
+    setImportResult(null);
+    try {
+      const res = await importStudents(file);
+      setImportResult(res.data);
+      load();
+    } catch (err) {
+      setImportResult({ rowsSaved: 0, errors: [{ row: 0, message: err.response?.data?.message || 'Import failed' }] });
+    }
+  };
+
   const filtered = students.filter(s => {
     const matchSearch = !search || `${s.firstName} ${s.lastName} ${s.rollNumber}`.toLowerCase().includes(search.toLowerCase());
     const matchClass = !filterClass || s.className === filterClass;
@@ -69,9 +85,28 @@ export default function ManageStudents() {
       <div className="card">
         <div className="card-header">
           <h2>Manage Students ({students.length})</h2>
-          <button className="btn btn-primary" onClick={openNew}>+ Add Student</button>
+          <div className="btn-group">
+            <label className="btn btn-secondary">
+              Import CSV
+              <input type="file" accept=".csv,.ndjson,.jsonl" onChange={handleImport} style={{ display: 'none' }} />
+            </label>
+            <button className="btn btn-primary" onClick={openNew}>+ Add Student</button>
+          </div>
         </div>
 
+        {importResult && (
+          <div style={{ marginBottom: '1rem', padding: '0.75rem', background: '#f3f4ff', borderRadius: '8px' }}>
+            <strong>Imported {importResult.rowsSaved} students.</strong>
+            {importResult.errors.length > 0 && (
+              <ul style={{ margin: '0.5rem 0 0', color: '#c62828', maxHeight: '150px', overflowY: 'auto' }}>
+                {importResult.errors.map((err, i) => (
+                  <li key={i}>{err.row > 0 && `Line ${err.row}: `}{err.field && `${err.field} - `}{err.message}</li>
+                ))}
+              </ul>
+            )}
+          </div>
+        )}
+
         <div style={{ display: 'flex', gap: '0.75rem', marginBottom: '1rem', flexWrap: 'wrap' }}>
           <input
             value={search} onChange={e => setSearch(e.target.value)}
@@ -1,5 +1,5 @@
 import { useState, useEffect } from 'react';
-import { getTeachers, createTeacher, updateTeacher, deleteTeacher } from '../../services/api';
+import { getTeachers, createTeacher, updateTeacher, deleteTeacher, uploadTeacherPhoto } from '../../services/api';
 
 const emptyTeacher = {
   name: '', designation: '', subject: '', qualification: '',
@@ -46,6 +46,19 @@ export default function ManageTeachers() {
     }
   };
 
+  const handlePhoto = async (e) => {
+    const file = e.target.files[0];
+    if (!file || !editing) return;
+    setError('');
+    try {
+      const res = await uploadTeacherPhoto(editing, file);
+      setForm({ ...form, photoUrl: res.data.data.photoUrl });
+      load();
+    } catch (err) {
+      setError(err.response?.data?.message || 'Photo upload failed');
+    }
+  };
+
   const handleDelete = async (id) => {
     if (!window.confirm('Delete this teacher?')) return;
     await deleteTeacher(id).catch(() => {});
@@ -156,6 +169,12 @@ export default function ManageTeachers() {
                 <label>Photo URL (leave blank for auto-generated)</label>
                 <input name="photoUrl" value={form.photoUrl || ''} onChange={handleChange} placeholder="https://example.com/photo.jpg" />
               </div>
+              {editing && (
+                <div className="form-group">
+                  <label>Or upload a photo</label>
+                  <input type="file" accept="image/jpeg,image/png,image/gif" onChange={handlePhoto} />
+                </div>
+              )}
               <div className="btn-group" style={{ marginTop: '1rem' }}>
                 <button type="submit" className="btn btn-primary">{editing ? 'Update Teacher' : 'Add Teacher'}</button>
                 <button type="button" className="btn btn-secondary" onClick={() => setShowModal(false)}>Cancel</button>
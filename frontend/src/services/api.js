@@ -39,6 +39,11 @@ export const getStudent = (id) => api.get(`/students/${id}`);
 export const createStudent = (data) => api.post('/students', data);
 export const updateStudent = (id, data) => api.put(`/students/${id}`, data);
 export const deleteStudent = (id) => api.delete(`/students/${id}`);
+export const importStudents = (file) => {
+  const data = new FormData();
+  data.append('file', file);
+  return api.post('/students/import', data);
+};
 
 // Results (admin for CRUD, public for lookup by roll+dob)
 // Use plain axios for public lookup (no auth token/interceptor needed)
@@ -56,9 +61,16 @@ export const getTeachers = () => api.get('/teachers');
 export const createTeacher = (data) => api.post('/teachers', data);
 export const updateTeacher = (id, data) => api.put(`/teachers/${id}`, data);
 export const deleteTeacher = (id) => api.delete(`/teachers/${id}`);
+export const uploadTeacherPhoto = (id, file) => {
+  const data = new FormData();
+  data.append('file', file);
+  return api.post(`/teachers/${id}/photo`, data);
+};
 
 // Announcements (admin for CRUD, public for GET)
 export const getAnnouncements = () => api.get('/announcements');
+// Server-Sent Events: created / updated / deleted / reset
+export const announcementStreamUrl = `${API_BASE}/announcements/stream`;
 export const createAnnouncement = (data) => api.post('/announcements', data);
 export const updateAnnouncement = (id, data) => api.put(`/announcements/${id}`, data);
 export const deleteAnnouncement = (id) => api.delete(`/announcements/${id}`);
@@ -0,0 +1,25 @@
+#!/usr/bin/env sh
+# Runs 1000 concurrent result lookups against the backend on platform threads, then on
+# virtual threads, using the loadtest profile (H2, 3 connections like production).
+# Reports go to loadtest/results/{platform,virtual}.json.
+set -e
+cd "$(dirname "$0")"
+
+../backend/mvnw -q -f ../backend/pom.xml package -DskipTests
+../backend/mvnw -q -f pom.xml package
+mkdir -p results
+
+for mode in platform virtual; do
+    if [ "$mode" = virtual ]; then vt=true; else vt=false; fi
+    VIRTUAL_THREADS=$vt java -jar ../backend/target/school-website-0.0.1-SNAPSHOT.jar \
+        --spring.profiles.active=loadtest > "results/backend-$mode.log" 2>&1 &
+    pid=$!
+    until curl -sf http://localhost:8080/health > /dev/null; do sleep 1; done
+
+    echo "== $mode threads =="
+    java -jar target/loadtest.jar --scenario lookups --users 1000 --warmup 10s --duration 60s \
+        --out "results/$mode.json" "$@"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+done
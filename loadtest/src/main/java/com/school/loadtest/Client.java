@@ -0,0 +1,129 @@
+package com.school.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Sends one request per Operation. Valid lookups follow LoadTestDataSeeder's roll/DOB pattern.
+final class Client {
+
+    private static final int HOT_STUDENTS = 50;
+
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final String baseUrl;
+    private final int students;
+    private String token;
+    private List<Long> bulkClassIds = List.of();
+
+    Client(String baseUrl, int students) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.students = students;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    // Logs in as admin and picks the class used for bulk saves
+    void prepare(String username, String password) throws IOException, InterruptedException {
+        String body = json.writeValueAsString(Map.of("username", username, "password", password));
+        HttpResponse<String> login = http.send(post("/api/auth/login", body), HttpResponse.BodyHandlers.ofString());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed: HTTP " + login.statusCode() + " " + login.body());
+        }
+        token = json.readTree(login.body()).path("token").asText();
+
+        HttpResponse<String> page = http.send(get("/api/students/page?className=1&section=A&size=500", true),
+                HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode student : json.readTree(page.body()).path("items")) {
+            ids.add(student.path("id").asLong());
+        }
+        bulkClassIds = ids;
+    }
+
+    JsonNode adminStats() throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(get("/api/admin/stats", true), HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? json.readTree(response.body()) : null;
+    }
+
+    // True for a successful response; "not found" is the expected answer for invalid lookups
+    boolean send(Operation operation) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpResponse<Void> response = switch (operation) {
+            case LOOKUP_VALID -> http.send(lookup(random.nextInt(students)), HttpResponse.BodyHandlers.discarding());
+            case LOOKUP_REPEAT -> http.send(lookup(random.nextInt(Math.min(HOT_STUDENTS, students))),
+                    HttpResponse.BodyHandlers.discarding());
+            case LOOKUP_INVALID -> http.send(get("/api/results/lookup?rollNumber=XX" + random.nextInt(1_000_000)
+                    + "&dob=2001-01-01", false), HttpResponse.BodyHandlers.discarding());
+            case ANNOUNCEMENTS -> http.send(get("/api/announcements", false), HttpResponse.BodyHandlers.discarding());
+            case TEACHERS -> http.send(get("/api/teachers", false), HttpResponse.BodyHandlers.discarding());
+            case BULK_SAVE -> http.send(post("/api/results/admin/save-class", bulkSaveBody(random)),
+                    HttpResponse.BodyHandlers.discarding());
+        };
+        int status = response.statusCode();
+        return status == 200 || (operation == Operation.LOOKUP_INVALID && status == 404);
+    }
+
+    private HttpRequest lookup(int i) {
+        String roll = String.format("LT%06d", i + 1);
+        LocalDate dob = LocalDate.of(2008, 1, 1).plusDays(i % 3650);
+        return get("/api/results/lookup?rollNumber=" + roll + "&dob=" + dob, false);
+    }
+
+    private String bulkSaveBody(ThreadLocalRandom random) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>(bulkClassIds.size());
+        for (Long id : bulkClassIds) {
+            List<Map<String, Object>> marks = new ArrayList<>();
+            for (String subject : List.of("English", "Hindi", "Mathematics", "Science", "Social Science", "Computer")) {
+                marks.add(Map.of("subject", subject, "marksObtained", (double) random.nextInt(20, 51),
+                        "totalMarks", 50.0));
+            }
+            rows.add(Map.of("studentId", id, "results", marks));
+        }
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("className", "1");
+        request.put("section", "A");
+        request.put("examType", "unit_test");
+        request.put("academicYear", "2025-26");
+        request.put("students", rows);
+        return json.writeValueAsString(request);
+    }
+
+    private HttpRequest get(String path, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.school.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Result-day load generator. By default it is an open model: requests start on a fixed
+// schedule (--rate per second) whether or not earlier ones finished, and latency is measured
+// from the scheduled start, so a stalled server shows up as queueing instead of being hidden.
+// --users N switches to a closed model of N clients looping back-to-back.
+//
+//   java -jar loadtest/target/loadtest.jar --rate 300 --duration 60s --scenario mix
+public final class LoadTest {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Client client;
+    private final Options options;
+    private final Operation[] wheel;
+
+    private LoadTest(Options options) {
+        this.options = options;
+        this.client = new Client(options.baseUrl, options.students);
+        for (Operation op : Operation.values()) {
+            recorders.put(op, new Recorder(3));
+            errors.put(op, new LongAdder());
+        }
+        this.wheel = buildWheel(options.scenario);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        client.prepare(options.username, options.password);
+        System.out.printf("Target %s, scenario %s, %s for %ds (warmup %ds)%n", options.baseUrl, options.scenario,
+                options.users > 0 ? options.users + " closed-loop users" : options.rate + " req/s open model",
+                options.duration.toSeconds(), options.warmup.toSeconds());
+
+        if (!options.warmup.isZero()) {
+            drive(options.warmup);
+            recorders.values().forEach(Recorder::reset);
+            errors.values().forEach(LongAdder::reset);
+            dropped.reset();
+        }
+        JsonNode before = client.adminStats();
+        long start = System.nanoTime();
+        drive(options.duration);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        JsonNode after = client.adminStats();
+
+        report(seconds, before, after);
+    }
+
+    private void drive(Duration duration) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (options.users > 0) {
+                closedModel(executor, duration);
+            } else {
+                openModel(executor, duration);
+            }
+        }
+    }
+
+    private void openModel(ExecutorService executor, Duration duration) {
+        long intervalNanos = (long) (1e9 / options.rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation op = pick();
+            // Past this many outstanding requests the client, not the server, would be the bottleneck
+            if (inFlight.get() >= options.maxInFlight) {
+                dropped.increment();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    execute(op, scheduled);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void closedModel(ExecutorService executor, Duration duration) {
+        long end = System.nanoTime() + duration.toNanos();
+        for (int u = 0; u < options.users; u++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < end) {
+                    execute(pick(), System.nanoTime());
+                }
+            });
+        }
+    }
+
+    private void execute(Operation op, long scheduledNanos) {
+        boolean ok;
+        try {
+            ok = client.send(op);
+        } catch (Exception e) {
+            ok = false;
+        }
+        long latency = Math.min(System.nanoTime() - scheduledNanos, MAX_LATENCY_NANOS);
+        recorders.get(op).recordValue(Math.max(latency, 1));
+        if (!ok) {
+            errors.get(op).increment();
+        }
+    }
+
+    private Operation pick() {
+        return wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+    }
+
+    private static Operation[] buildWheel(String scenario) {
+        int total = 0;
+        for (Operation op : Operation.values()) {
+            total += op.weight(scenario);
+        }
+        Operation[] wheel = new Operation[total];
+        int i = 0;
+        for (Operation op : Operation.values()) {
+            for (int w = 0; w < op.weight(scenario); w++) {
+                wheel[i++] = op;
+            }
+        }
+        return wheel;
+    }
+
+    private void report(double seconds, JsonNode before, JsonNode after) throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        ObjectNode out = json.createObjectNode();
+        out.put("scenario", options.scenario);
+        out.put("model", options.users > 0 ? "closed" : "open");
+        out.put("targetRate", options.rate);
+        out.put("users", options.users);
+        out.put("seconds", seconds);
+        out.put("droppedByClient", dropped.sum());
+
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        System.out.printf("%n%-20s %9s %9s %8s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        ObjectNode operations = out.putObject("operations");
+        for (Operation op : Operation.values()) {
+            Histogram h = recorders.get(op).getIntervalHistogram();
+            long errorCount = errors.get(op).sum();
+            if (h.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(h);
+            allErrors += errorCount;
+            printRow(op.label, h, errorCount, seconds);
+            operations.set(op.name(), summary(json, h, errorCount, seconds));
+        }
+        printRow("TOTAL", all, allErrors, seconds);
+        out.set("total", summary(json, all, allErrors, seconds));
+        if (dropped.sum() > 0) {
+            System.out.printf("%nClient dropped %d scheduled requests (more than %d in flight)%n",
+                    dropped.sum(), options.maxInFlight);
+        }
+
+        JsonNode hikari = hikariDelta(json, before, after);
+        if (hikari != null) {
+            out.set("hikari", hikari);
+            System.out.printf("%nHikari: %d acquisitions, avg wait %.2f ms, max wait %.2f ms, %d timeouts%n",
+                    hikari.path("acquired").asLong(), hikari.path("avgAcquireMs").asDouble(),
+                    hikari.path("maxAcquireMs").asDouble(), hikari.path("timeouts").asLong());
+        }
+        if (options.output != null) {
+            json.writerWithDefaultPrettyPrinter().writeValue(new File(options.output), out);
+            System.out.println("Report written to " + options.output);
+        }
+    }
+
+    private static void printRow(String label, Histogram h, long errorCount, double seconds) {
+        System.out.printf("%-20s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f%n", label, h.getTotalCount(),
+                h.getTotalCount() / seconds, 100.0 * errorCount / h.getTotalCount(),
+                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(95)),
+                ms(h.getValueAtPercentile(99)), ms(h.getMaxValue()));
+    }
+
+    private static ObjectNode summary(ObjectMapper json, Histogram h, long errorCount, double seconds) {
+        ObjectNode node = json.createObjectNode();
+        node.put("requests", h.getTotalCount());
+        node.put("throughput", h.getTotalCount() / seconds);
+        node.put("errors", errorCount);
+        node.put("errorRate", h.getTotalCount() > 0 ? (double) errorCount / h.getTotalCount() : 0);
+        node.put("p50Ms", ms(h.getValueAtPercentile(50)));
+        node.put("p95Ms", ms(h.getValueAtPercentile(95)));
+        node.put("p99Ms", ms(h.getValueAtPercentile(99)));
+        node.put("maxMs", ms(h.getMaxValue()));
+        return node;
+    }
+
+    // Connection wait during the measured run only, from the server's cumulative counters
+    private static JsonNode hikariDelta(ObjectMapper json, JsonNode before, JsonNode after) {
+        if (before == null || after == null || !after.has("hikari")) {
+            return null;
+        }
+        JsonNode b = before.path("hikari");
+        JsonNode a = after.path("hikari");
+        long acquired = a.path("acquired").asLong() - b.path("acquired").asLong();
+        double totalMs = a.path("totalAcquireMs").asDouble() - b.path("totalAcquireMs").asDouble();
+        ObjectNode node = json.createObjectNode();
+        node.put("acquired", acquired);
+        node.put("avgAcquireMs", acquired > 0 ? totalMs / acquired : 0);
+        // The server only keeps an all-time maximum
+        node.put("maxAcquireMs", a.path("maxAcquireMs").asDouble());
+        node.put("timeouts", a.path("timeouts").asLong() - b.path("timeouts").asLong());
+        if (after.has("dbBulkhead")) {
+            node.put("bulkheadRejected", after.path("dbBulkhead").path("rejected").asLong()
+                    - before.path("dbBulkhead").path("rejected").asLong());
+        }
+        return node;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,30 @@
+package com.school.loadtest;
+
+// One kind of request in the replayed traffic mix, with its share (per mille) in each scenario
+enum Operation {
+    LOOKUP_VALID("lookup (valid)", 500, 600),
+    LOOKUP_REPEAT("lookup (repeated)", 200, 300),
+    LOOKUP_INVALID("lookup (invalid)", 100, 100),
+    ANNOUNCEMENTS("announcements", 90, 0),
+    TEACHERS("teachers", 90, 0),
+    BULK_SAVE("admin bulk save", 20, 0);
+
+    final String label;
+    final int mixWeight;
+    final int lookupWeight;
+
+    Operation(String label, int mixWeight, int lookupWeight) {
+        this.label = label;
+        this.mixWeight = mixWeight;
+        this.lookupWeight = lookupWeight;
+    }
+
+    int weight(String scenario) {
+        return switch (scenario) {
+            case "mix" -> mixWeight;
+            case "lookups" -> lookupWeight;
+            case "homepage" -> this == ANNOUNCEMENTS || this == TEACHERS ? 1 : 0;
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.school.loadtest;
+
+import java.time.Duration;
+
+// Command-line options: --name value pairs, durations as "60s" or "2m"
+final class Options {
+
+    String baseUrl = "http://localhost:8080";
+    String scenario = "mix";
+    double rate = 200;
+    int users;
+    int maxInFlight = 10_000;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    int students = 2000;
+    String username = "admin";
+    String password = "admin123";
+    String output;
+
+    static Options parse(String[] args) {
+        Options o = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (name.equals("--help")) {
+                usage();
+                System.exit(0);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--base-url" -> o.baseUrl = value;
+                case "--scenario" -> o.scenario = value;
+                case "--rate" -> o.rate = Double.parseDouble(value);
+                case "--users" -> o.users = Integer.parseInt(value);
+                case "--max-in-flight" -> o.maxInFlight = Integer.parseInt(value);
+                case "--duration" -> o.duration = duration(value);
+                case "--warmup" -> o.warmup = duration(value);
+                case "--students" -> o.students = Integer.parseInt(value);
+                case "--username" -> o.username = value;
+                case "--password" -> o.password = value;
+                case "--out" -> o.output = value;
+                default -> throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+        return o;
+    }
+
+    private static Duration duration(String value) {
+        char unit = value.charAt(value.length() - 1);
+        if (Character.isDigit(unit)) {
+            return Duration.ofSeconds(Long.parseLong(value));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (unit) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Bad duration " + value);
+        };
+    }
+
+    private static void usage() {
+        System.out.println("""
+                Options:
+                  --base-url URL        backend to test (default http://localhost:8080)
+                  --scenario NAME       mix | lookups | homepage (default mix)
+                  --rate N              open model: requests started per second (default 200)
+                  --users N             closed model: N clients looping instead of a fixed rate
+                  --max-in-flight N     open model: client-side cap on outstanding requests (default 10000)
+                  --duration D          measured run, e.g. 60s or 2m (default 60s)
+                  --warmup D            unmeasured warmup (default 10s)
+                  --students N          students seeded by the loadtest profile (default 2000)
+                  --username/--password admin account for bulk saves and stats (default admin/admin123)
+                  --out FILE            also write the report as JSON""");
+    }
+}